@@ -0,0 +1,287 @@
+import java.util.Arrays;
+
+/**
+ * Finds provably optimal sliding puzzle solutions with a breadth first search from both the start and the
+ * solved position, always extending the side with the smaller frontier by one full level, until the two
+ * searches meet. Works for boards of up to 16 cells (3x3, 2xN, 4x4 for short solutions).
+ *
+ * Every position is packed into a long with 4 bits per cell (cell i in bits 4i..4i+3, the blank is 0) and
+ * visited positions are kept in a LongStateTable. The byte stored with a position holds its blank cell and
+ * the blank cell of the position it was reached from, which is enough to walk back along the search.
+ * enumerate runs the backward search alone over the whole space, e.g. all 181,440 positions of the 3x3.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class BidirectionalPuzzleSolver {
+
+    public static final int MAX_CELLS = 16;
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final int[] neighbors;      //up to 4 neighbors per cell at [cell * 4], clockwise from the top
+    private final int[] neighborCounts;
+    private final long goal;
+
+    private long statesExplored;
+    private long elapsedNanos;
+
+    public BidirectionalPuzzleSolver(int width, int height) {
+        if (width * height > MAX_CELLS) {
+            throw new IllegalArgumentException("Packed states hold at most " + MAX_CELLS + " cells");
+        }
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+
+        PackedBoard board = new PackedBoard(width, height);
+        neighbors = new int[size * 4];
+        neighborCounts = new int[size];
+        for (int cell = 0; cell < size; cell++) {
+            neighborCounts[cell] = board.getNeighborCount(cell);
+            for (int k = 0; k < neighborCounts[cell]; k++) {
+                neighbors[cell * 4 + k] = board.getNeighbor(cell, k);
+            }
+        }
+
+        int[] solved = new int[size];
+        for (int i = 0; i < size - 1; i++) {
+            solved[i] = i + 1;
+        }
+        goal = pack(solved);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns how many positions the last solve or enumerate stored.
+     */
+    public long getStatesExplored() {
+        return statesExplored;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Packs a position into a long, 4 bits per cell.
+     */
+    public static long pack(int[] cells) {
+        long state = 0;
+        for (int i = 0; i < cells.length; i++) {
+            state |= (long) cells[i] << (i << 2);
+        }
+        return state;
+    }
+
+    public static void unpack(long state, int[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (int) (state >>> (i << 2)) & 0xF;
+        }
+    }
+
+    /**
+     * Solves the puzzle and returns the tiles to slide into the blank, in order, or null if the position
+     * cannot be solved. Same layout and result as SlidingPuzzleSolver.solve.
+     */
+    public int[] solve(int[] start) {
+        long begin = System.nanoTime();
+        statesExplored = 0;
+        try {
+            if (!SlidingPuzzleSolver.isSolvable(start, width, height)) {
+                return null;
+            }
+            long startState = pack(start);
+            if (startState == goal) {
+                return new int[0];
+            }
+
+            LongStateTable forward = new LongStateTable(1 << 12);
+            LongStateTable backward = new LongStateTable(1 << 12);
+            forward.putIfAbsent(startState, link(blankOf(startState), blankOf(startState)));
+            backward.putIfAbsent(goal, link(size - 1, size - 1));
+            long[] forwardFrontier = {startState};
+            long[] backwardFrontier = {goal};
+            int forwardCount = 1;
+            int backwardCount = 1;
+            long[] scratch = new long[16];
+
+            while (forwardCount > 0 && backwardCount > 0) {
+                boolean expandForward = forwardCount <= backwardCount;
+                LongStateTable own = expandForward ? forward : backward;
+                LongStateTable other = expandForward ? backward : forward;
+                long[] frontier = expandForward ? forwardFrontier : backwardFrontier;
+                int frontierCount = expandForward ? forwardCount : backwardCount;
+
+                int nextCount = 0;
+                long meeting = 0;
+                for (int i = 0; i < frontierCount && meeting == 0; i++) {
+                    long state = frontier[i];
+                    int blank = own.get(state) >>> 4;
+                    for (int k = 0; k < neighborCounts[blank]; k++) {
+                        long child = slide(state, blank, neighbors[blank * 4 + k]);
+                        if (!own.putIfAbsent(child, link(neighbors[blank * 4 + k], blank))) {
+                            continue;
+                        }
+                        if (other.contains(child)) { //every level is complete, so the first meeting is optimal
+                            meeting = child;
+                            break;
+                        }
+                        if (nextCount == scratch.length) {
+                            scratch = Arrays.copyOf(scratch, nextCount * 2);
+                        }
+                        scratch[nextCount++] = child;
+                    }
+                }
+                statesExplored = forward.size() + backward.size();
+                if (meeting != 0) {
+                    return joinPaths(meeting, forward, backward);
+                }
+
+                long[] swap = frontier;
+                if (expandForward) {
+                    forwardFrontier = scratch;
+                    forwardCount = nextCount;
+                }
+                else {
+                    backwardFrontier = scratch;
+                    backwardCount = nextCount;
+                }
+                scratch = swap;
+            }
+            return null;
+        }
+        finally {
+            elapsedNanos = System.nanoTime() - begin;
+        }
+    }
+
+    /**
+     * Runs a breadth first search over every position reachable from the solved board and returns how many
+     * positions lie at each distance; the array length minus one is the hardest position's solution length.
+     */
+    public long[] enumerate() {
+        long begin = System.nanoTime();
+        LongStateTable visited = new LongStateTable(1 << 16);
+        visited.putIfAbsent(goal, link(size - 1, size - 1));
+        long[] frontier = {goal};
+        int frontierCount = 1;
+        long[] next = new long[16];
+        long[] counts = new long[16];
+        int depth = 0;
+
+        while (frontierCount > 0) {
+            if (depth == counts.length) {
+                counts = Arrays.copyOf(counts, depth * 2);
+            }
+            counts[depth++] = frontierCount;
+
+            int nextCount = 0;
+            for (int i = 0; i < frontierCount; i++) {
+                long state = frontier[i];
+                int link = visited.get(state);
+                int blank = link >>> 4;
+                int previousBlank = link & 0xF;
+                for (int k = 0; k < neighborCounts[blank]; k++) {
+                    int cell = neighbors[blank * 4 + k];
+                    if (cell == previousBlank) {
+                        continue;
+                    }
+                    long child = slide(state, blank, cell);
+                    if (visited.putIfAbsent(child, link(cell, blank))) {
+                        if (nextCount == next.length) {
+                            next = Arrays.copyOf(next, nextCount * 2);
+                        }
+                        next[nextCount++] = child;
+                    }
+                }
+            }
+            long[] swap = frontier;
+            frontier = next;
+            frontierCount = nextCount;
+            next = swap;
+        }
+        statesExplored = visited.size();
+        elapsedNanos = System.nanoTime() - begin;
+        return Arrays.copyOf(counts, depth);
+    }
+
+    /**
+     * Builds the move list through the meeting position: the forward half is read backwards from the meeting
+     * position to the start, the backward half from the meeting position to the goal.
+     */
+    private int[] joinPaths(long meeting, LongStateTable forward, LongStateTable backward) {
+        int[] reversed = new int[64];
+        int forwardLength = 0;
+        long state = meeting;
+        int link = forward.get(state);
+        while ((link >>> 4) != (link & 0xF)) {
+            int blank = link >>> 4;
+            int previousBlank = link & 0xF;
+            reversed = ensureCapacity(reversed, forwardLength);
+            reversed[forwardLength++] = tileAt(state, previousBlank);
+            state = slide(state, blank, previousBlank);
+            link = forward.get(state);
+        }
+
+        int[] moves = new int[64];
+        int length = 0;
+        for (int i = forwardLength - 1; i >= 0; i--) {
+            moves = ensureCapacity(moves, length);
+            moves[length++] = reversed[i];
+        }
+        state = meeting;
+        link = backward.get(state);
+        while ((link >>> 4) != (link & 0xF)) {
+            int blank = link >>> 4;
+            int previousBlank = link & 0xF;
+            moves = ensureCapacity(moves, length);
+            moves[length++] = tileAt(state, previousBlank);
+            state = slide(state, blank, previousBlank);
+            link = backward.get(state);
+        }
+        return Arrays.copyOf(moves, length);
+    }
+
+    private static int[] ensureCapacity(int[] array, int length) {
+        return length < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    /**
+     * Moves the blank from cell blank to cell target, sliding the tile there the other way.
+     */
+    private static long slide(long state, int blank, int target) {
+        long tile = (state >>> (target << 2)) & 0xF;
+        return state & ~(0xFL << (target << 2)) | (tile << (blank << 2));
+    }
+
+    private static int tileAt(long state, int cell) {
+        return (int) (state >>> (cell << 2)) & 0xF;
+    }
+
+    private int blankOf(long state) {
+        for (int i = 0; i < size; i++) {
+            if (tileAt(state, i) == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Position has no blank");
+    }
+
+    /**
+     * Packs a position's blank cell with the blank cell of the position it came from; a position whose two
+     * cells are equal is where its search started.
+     */
+    private static int link(int blank, int previousBlank) {
+        return blank << 4 | previousBlank;
+    }
+}
@@ -1,6 +1,8 @@
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * Represents a game board composed of a grid of tiles. It supports initialization with a specified width and height,
  * retrieval of tiles by coordinates, finding adjacent tiles, and rendering the board state to the console. The board
@@ -17,6 +19,13 @@ public class Board {
     private int width;
     private int height;
 
+    private Map<Tile, Integer> tileIndex; //reverse index from tile to row-major index, built on first lookup
+
+    private int[] neighborTable; //up to 4 neighbors per cell at [index*4], clockwise from the top
+    private int[] neighborCounts;
+
+    private BoardRenderer renderer;
+
     public int getHeight() {
         return height;
     }
@@ -25,13 +34,23 @@ public class Board {
         return width;
     }
     public Board(int width, int height){
+        this(width, height, true);
+    }
+
+    /**
+     * Lets subclasses with their own cell storage skip allocating the Tile grid.
+     */
+    protected Board(int width, int height, boolean allocateTiles){
         this.width = width;
         this.height= height;
-        tiles = new Tile[height][width];
 
-        for (int row = 0; row < height; row++){
-            for(int col = 0; col < width; col++){
-                tiles[row][col] = new Tile(null);
+        if (allocateTiles){
+            tiles = new Tile[height][width];
+
+            for (int row = 0; row < height; row++){
+                for(int col = 0; col < width; col++){
+                    tiles[row][col] = new Tile(null);
+                }
             }
         }
     }
@@ -42,68 +61,96 @@ public class Board {
     }
 
     public int[] getTileCoords(Tile t){
-        for (int x = 0; x < height; x++){
-            for(int y = 0; y < width; y++){
-                if (tiles[x][y].equals(t)){
-                    return new int[]{x, y};
+        if (tileIndex == null){
+            tileIndex = new HashMap<>();
+            for (int x = 0; x < height; x++){
+                for(int y = 0; y < width; y++){
+                    tileIndex.put(tiles[x][y], x * width + y);
                 }
             }
         }
-        throw new RuntimeException("Tile does not exist on board");
+        Integer index = tileIndex.get(t);
+        if (index == null){
+            throw new RuntimeException("Tile does not exist on board");
+        }
+        return new int[]{index / width, index % width};
     }
 
-    public void renderBoard() {
-        // Print the top border
-        for (int x = 0; x < width; x++) {
-            System.out.print("+---");
+    /**
+     * Returns how many neighbors the cell at the given row-major index has (2 to 4).
+     */
+    public int getNeighborCount(int index){
+        if (neighborTable == null){
+            buildNeighborTable();
         }
-        System.out.println("+");
-
-        for (int y = 0; y < height; y++) {
-            // Print the tile values along with vertical dividers
-            for (int x = 0; x < width; x++) {
-                System.out.print("|");
-                String tileValue = tiles[y][x].getPiece().toString();
-                // Adjust the tile value to ensure it takes up two spaces for alignment
-                System.out.print(String.format("%2s ", tileValue));
-            }
-            System.out.println("|"); // Close the grid line
+        return neighborCounts[index];
+    }
+
+    /**
+     * Returns the k-th neighbor of a cell as a row-major index, neighbors are in clockwise order starting at the top.
+     * Together with getNeighborCount this walks the neighbors without allocating.
+     */
+    public int getNeighbor(int index, int k){
+        if (neighborTable == null){
+            buildNeighborTable();
+        }
+        return neighborTable[index * 4 + k];
+    }
 
-            // Print a separating line between each row, except after the last row
-            if (y < height - 1) {
-                for (int x = 0; x < width; x++) {
-                    System.out.print("|---");
+    private void buildNeighborTable(){
+        int[] table = new int[width * height * 4];
+        int[] counts = new int[width * height];
+        for (int r = 0; r < height; r++){
+            for (int c = 0; c < width; c++){
+                int index = r * width + c;
+                int n = 0;
+                if (r != 0){
+                    table[index * 4 + n++] = index - width;
                 }
-                System.out.println("|");
+                if (c != width - 1){
+                    table[index * 4 + n++] = index + 1;
+                }
+                if (r != height - 1){
+                    table[index * 4 + n++] = index + width;
+                }
+                if (c != 0){
+                    table[index * 4 + n++] = index - 1;
+                }
+                counts[index] = n;
             }
         }
+        neighborCounts = counts;
+        neighborTable = table;
+    }
+
+    public void renderBoard() {
+        getRenderer().renderGrid(this);
+    }
 
-        // Print the bottom border
-        for (int x = 0; x < width; x++) {
-            System.out.print("+---");
+    /**
+     * Makes the next render a full redraw, used when a game resets its board in place.
+     */
+    public void invalidateRender() {
+        if (renderer != null) {
+            renderer.invalidate();
         }
-        System.out.println("+");
+    }
+
+    protected BoardRenderer getRenderer() {
+        if (renderer == null) {
+            renderer = new BoardRenderer();
+        }
+        return renderer;
     }
 
     public List<Tile> findAdjacentTiles(Tile tile){
-        List<Tile> adjacentTiles = new ArrayList<Tile>(); //neighbors added in clockwise order
+        List<Tile> adjacentTiles = new ArrayList<Tile>(4); //neighbors added in clockwise order
         int[] tileCoords = this.getTileCoords(tile);
+        int index = tileCoords[0] * width + tileCoords[1];
 
-        //check top neighbor:
-        if (tileCoords[0] != 0){ //if r != 0, add top neighbor
-            adjacentTiles.add(this.getTile(tileCoords[0]-1, tileCoords[1]));
-        }
-        //check right neighbor:
-        if (tileCoords[1] != this.width-1){ //if c != width-1, add right neighbor
-            adjacentTiles.add(this.getTile(tileCoords[0], tileCoords[1]+1));
-        }
-        //check bottom neighbor:
-        if (tileCoords[0] != this.height-1){ //if r != height-1, add bottom neighbor
-            adjacentTiles.add(this.getTile(tileCoords[0]+1, tileCoords[1]));
-        }
-        //check left neighbor:
-        if (tileCoords[1] != 0){ //if c != 0, add left neighbor
-            adjacentTiles.add( this.getTile(tileCoords[0], tileCoords[1]-1));
+        for (int k = 0; k < getNeighborCount(index); k++){
+            int neighbor = getNeighbor(index, k);
+            adjacentTiles.add(this.getTile(neighbor / width, neighbor % width));
         }
 
         return adjacentTiles;
@@ -0,0 +1,411 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Draws boards to the console. A whole frame is composed into one reusable StringBuilder and written
+ * with a single print and flush, instead of one print call per border piece. Cell labels (the padded
+ * tile numbers) and the ANSI color prefixes are computed once per board size, so drawing a frame does
+ * no formatting or number parsing.
+ *
+ * In differential mode the board is kept at the top of the screen. The first frame clears the screen and
+ * draws everything; later frames are compared with the previous one cell by cell (a cell is one tile with
+ * its left edge, or one border piece) and only the cells that changed are rewritten using ANSI cursor
+ * positioning, after which the text below the board is cleared for the next prompts. A full redraw happens
+ * again when the board layout changes (for example a new board size) or after invalidate().
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class BoardRenderer {
+
+    private static final int NO_COLOR = Integer.MIN_VALUE;
+
+    private static final String CLEAR_SCREEN = "\u001B[2J\u001B[H";
+    private static final String CLEAR_BELOW = "\u001B[J";
+
+    private static boolean differentialByDefault = false;
+
+    private final PrintStream out;
+    private StringBuilder frame = new StringBuilder(1024);
+
+    private boolean differential;
+    private final StringBuilder diff = new StringBuilder(256);
+    private StringBuilder previousFrame = new StringBuilder(1024);
+    private boolean previousValid;
+
+    //layout of the frame being composed: one entry per cell, see beginCell
+    private Segments segments = new Segments();
+    private Segments previousSegments = new Segments();
+    private int cursorRow;
+    private int cursorCol;
+
+    private String[] gridLabels;   //"%2s " formatted label for each cell value, used by the plain grid
+    private String[] valueStrings; //plain text of each cell value, used by the edge layout
+    private int[] valueColors;     //color code of each cell value for the frame being drawn
+
+    private final String[] colorPrefixes = new String[5]; //prefix for color codes -1..3
+
+    public BoardRenderer() {
+        this(System.out);
+    }
+
+    public BoardRenderer(PrintStream out) {
+        this.out = out;
+        this.differential = differentialByDefault;
+        for (int code = -1; code <= 3; code++) {
+            colorPrefixes[code + 1] = Utility.colorPrefix(code);
+        }
+    }
+
+    /**
+     * Sets whether renderers created from now on start in differential mode.
+     */
+    public static void setDifferentialByDefault(boolean enabled) {
+        differentialByDefault = enabled;
+    }
+
+    public void setDifferential(boolean enabled) {
+        differential = enabled;
+        previousValid = false;
+    }
+
+    public boolean isDifferential() {
+        return differential;
+    }
+
+    /**
+     * Forces the next frame to be drawn in full, e.g. after a game reset.
+     */
+    public void invalidate() {
+        previousValid = false;
+    }
+
+    /**
+     * Renders a board as a grid of cells separated by "|" and "---" lines.
+     */
+    public void renderGrid(Board board) {
+        beginFrame();
+        appendGrid(board);
+        flush();
+    }
+
+    /**
+     * Renders a board with edges, drawing only the edges that are set. Tiles holding a pawn are colored
+     * with that team's color and tiles in validTiles are colored magenta; either argument may be null.
+     */
+    public void renderEdges(BoardWithEdges board, Integer[] pawnPositions, List<Integer> validTiles) {
+        beginFrame();
+        prepareLabels(board.size());
+        markColors(pawnPositions, validTiles);
+        appendEdges(board);
+        clearColors(pawnPositions, validTiles);
+        flush();
+    }
+
+    private void beginFrame() {
+        frame.setLength(0);
+        segments.count = 0;
+        cursorRow = 0;
+        cursorCol = 0;
+    }
+
+    private void flush() {
+        endCell();
+        if (!differential) {
+            out.print(frame);
+        }
+        else if (previousValid && segments.sameLayout(previousSegments)) {
+            writeChangedCells();
+        }
+        else {
+            diff.setLength(0);
+            diff.append(CLEAR_SCREEN).append(frame);
+            out.print(diff);
+        }
+        out.flush();
+
+        if (differential) {
+            StringBuilder swapFrame = previousFrame;
+            previousFrame = frame;
+            frame = swapFrame;
+            Segments swapSegments = previousSegments;
+            previousSegments = segments;
+            segments = swapSegments;
+            previousValid = true;
+        }
+    }
+
+    /**
+     * Writes only the cells whose text differs from the previous frame, each preceded by a cursor move,
+     * then parks the cursor where a full frame would have left it and clears the prompts below.
+     */
+    private void writeChangedCells() {
+        diff.setLength(0);
+        for (int i = 0; i < segments.count; i++) {
+            int start = segments.start[i];
+            int length = segments.end[i] - start;
+            int prevStart = previousSegments.start[i];
+            if (length == previousSegments.end[i] - prevStart && sameText(frame, start, previousFrame, prevStart, length)) {
+                continue;
+            }
+            appendCursorMove(segments.row[i], segments.col[i]);
+            diff.append(frame, start, start + length);
+        }
+        appendCursorMove(cursorRow, cursorCol);
+        diff.append(CLEAR_BELOW);
+        out.print(diff);
+    }
+
+    private void appendCursorMove(int row, int col) {
+        diff.append("\u001B[").append(row + 1).append(';').append(col + 1).append('H');
+    }
+
+    private static boolean sameText(StringBuilder a, int aStart, StringBuilder b, int bStart, int length) {
+        for (int k = 0; k < length; k++) {
+            if (a.charAt(aStart + k) != b.charAt(bStart + k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts a new cell at the current end of the frame, closing the previous one.
+     */
+    private void beginCell() {
+        endCell();
+        segments.open(cursorRow, cursorCol, frame.length());
+    }
+
+    private void endCell() {
+        if (segments.isOpen()) {
+            cursorCol += visibleLength(frame, segments.start[segments.count - 1], frame.length());
+            segments.close(frame.length());
+        }
+    }
+
+    private void newLine() {
+        endCell();
+        frame.append('\n');
+        cursorRow++;
+        cursorCol = 0;
+    }
+
+    /**
+     * Counts the characters of a range that take up space on screen, skipping ANSI color sequences.
+     */
+    private static int visibleLength(StringBuilder text, int start, int end) {
+        int length = 0;
+        for (int k = start; k < end; k++) {
+            if (text.charAt(k) == '\u001B') {
+                while (k < end && text.charAt(k) != 'm') {
+                    k++;
+                }
+            }
+            else {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private void appendGrid(Board board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        PackedBoard packed = board instanceof PackedBoard ? (PackedBoard) board : null;
+        if (packed != null) {
+            prepareLabels(packed.size());
+        }
+
+        appendBorder("+---", width, "+");
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                beginCell();
+                frame.append('|');
+                if (packed != null) {
+                    frame.append(gridLabelOf(packed.getCell(y, x)));
+                }
+                else {
+                    frame.append(String.format("%2s ", board.getTile(y, x).getPiece().toString()));
+                }
+            }
+            beginCell();
+            frame.append('|');
+            newLine();
+
+            if (y < height - 1) {
+                appendBorder("|---", width, "|");
+            }
+        }
+
+        appendBorder("+---", width, "+");
+    }
+
+    private void appendEdges(BoardWithEdges board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        for (int row = 0; row < height; row++) {
+            appendHorizontalLine(board, row);
+            newLine();
+            appendVerticalLines(board, row);
+            newLine();
+        }
+        appendHorizontalLine(board, height);
+    }
+
+    private void appendHorizontalLine(BoardWithEdges board, int row) {
+        EdgeBitboard edges = board.getEdges();
+        for (int col = 0; col < board.getWidth(); col++) {
+            beginCell();
+            frame.append('+');
+            frame.append(edges.isDrawn(edges.horizontalEdge(row, col)) ? "-----" : "     ");
+        }
+        beginCell();
+        frame.append('+');
+    }
+
+    private void appendVerticalLines(BoardWithEdges board, int row) {
+        EdgeBitboard edges = board.getEdges();
+        int width = board.getWidth();
+        for (int col = 0; col < width; col++) {
+            beginCell();
+            frame.append(edges.isDrawn(edges.verticalEdge(row, col)) ? '|' : ' ');
+
+            int value = board.getCell(row, col);
+            frame.append("  ");
+            int color = value < valueColors.length ? valueColors[value] : NO_COLOR;
+            String prefix = color == NO_COLOR ? null : colorPrefixes[color + 1];
+            if (prefix != null) {
+                frame.append(prefix).append(valueOf(value)).append(Utility.ANSI_RESET);
+            }
+            else {
+                frame.append(valueOf(value));
+            }
+            frame.append(value < 10 ? "  " : " ");
+        }
+        beginCell();
+        if (edges.isDrawn(edges.verticalEdge(row, width))) {
+            frame.append('|');
+        }
+    }
+
+    private void appendBorder(String piece, int times, String end) {
+        beginCell(); //border lines only change with the board size, so one cell per line is enough
+        for (int i = 0; i < times; i++) {
+            frame.append(piece);
+        }
+        frame.append(end);
+        newLine();
+    }
+
+    /**
+     * Builds the label tables for cell values 0..size, once per board size.
+     */
+    private void prepareLabels(int size) {
+        if (gridLabels != null && gridLabels.length == size + 1) {
+            return;
+        }
+        gridLabels = new String[size + 1];
+        valueStrings = new String[size + 1];
+        valueColors = new int[size + 1];
+        Arrays.fill(valueColors, NO_COLOR);
+        for (int v = 0; v <= size; v++) {
+            valueStrings[v] = String.valueOf(v);
+            gridLabels[v] = String.format("%2s ", v == PackedBoard.EMPTY ? " " : valueStrings[v]);
+        }
+    }
+
+    private String gridLabelOf(int value) {
+        return value < gridLabels.length ? gridLabels[value] : String.format("%2s ", value);
+    }
+
+    private String valueOf(int value) {
+        return value < valueStrings.length ? valueStrings[value] : String.valueOf(value);
+    }
+
+    private void markColors(Integer[] pawnPositions, List<Integer> validTiles) {
+        if (validTiles != null) {
+            for (Integer tile : validTiles) {
+                if (tile >= 0 && tile < valueColors.length) {
+                    valueColors[tile] = -1;
+                }
+            }
+        }
+        if (pawnPositions != null) {
+            for (int team = pawnPositions.length - 1; team >= 0; team--) { //the lowest team wins a shared tile
+                Integer tile = pawnPositions[team];
+                if (tile != null && tile >= 0 && tile < valueColors.length) {
+                    valueColors[tile] = team;
+                }
+            }
+        }
+    }
+
+    private void clearColors(Integer[] pawnPositions, List<Integer> validTiles) {
+        if (validTiles != null) {
+            for (Integer tile : validTiles) {
+                if (tile >= 0 && tile < valueColors.length) {
+                    valueColors[tile] = NO_COLOR;
+                }
+            }
+        }
+        if (pawnPositions != null) {
+            for (Integer tile : pawnPositions) {
+                if (tile != null && tile >= 0 && tile < valueColors.length) {
+                    valueColors[tile] = NO_COLOR;
+                }
+            }
+        }
+    }
+
+    /**
+     * Screen position and frame offsets of every cell of a frame, in growable parallel arrays.
+     */
+    private static class Segments {
+        int[] row = new int[64];
+        int[] col = new int[64];
+        int[] start = new int[64];
+        int[] end = new int[64];
+        int count;
+        boolean open;
+
+        void open(int r, int c, int offset) {
+            if (count == row.length) {
+                int n = count * 2;
+                row = Arrays.copyOf(row, n);
+                col = Arrays.copyOf(col, n);
+                start = Arrays.copyOf(start, n);
+                end = Arrays.copyOf(end, n);
+            }
+            row[count] = r;
+            col[count] = c;
+            start[count] = offset;
+            count++;
+            open = true;
+        }
+
+        void close(int offset) {
+            end[count - 1] = offset;
+            open = false;
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        boolean sameLayout(Segments other) {
+            if (count != other.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (row[i] != other.row[i] || col[i] != other.col[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
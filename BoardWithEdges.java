@@ -1,5 +1,4 @@
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,10 +14,11 @@ import java.util.List;
  * @since 2024-02-14
  */
 
-public class BoardWithEdges extends Board{
+public class BoardWithEdges extends PackedBoard{
 
-    private Edge[][] verticalEdges;
-    private Edge[][] horizontalEdges;
+    private static final String[] EDGE_NAMES = {"up", "right", "down", "left"};
+
+    private EdgeBitboard edges;
 
 
     public BoardWithEdges(int width, int height) {
@@ -27,302 +27,107 @@ public class BoardWithEdges extends Board{
     }
 
     public void initializeEdges(){
-        verticalEdges = new Edge[this.getHeight()][this.getWidth() + 1];
-        horizontalEdges = new Edge[this.getHeight() + 1][this.getWidth()];
+        edges = new EdgeBitboard(this.getWidth(), this.getHeight());
+    }
 
-        // Initialize vertical edges
-        for (int i = 0; i < this.getHeight(); i++) {
-            for (int j = 0; j < this.getWidth() + 1; j++) {
-                verticalEdges[i][j] = new Edge(false);
-            }
-        }
+    public EdgeBitboard getEdges() {
+        return edges;
+    }
 
-        // Initialize horizontal edges
-        for (int i = 0; i < this.getHeight() + 1; i++) {
-            for (int j = 0; j < this.getWidth(); j++) {
-                horizontalEdges[i][j] = new Edge(false);
-            }
-        }
+    /**
+     * Returns the drawn sides of a box as a 4-bit mask, see EdgeBitboard for the side numbering.
+     */
+    public int getBoxEdgeMask(int row, int col) {
+        return edges.drawnMask(row, col);
     }
 
-    public Edge[] getBoxEdges(int row, int col) {
-        Edge top = horizontalEdges[row][col];
-        Edge bottom = horizontalEdges[row + 1][col];
-        Edge left = verticalEdges[row][col];
-        Edge right = verticalEdges[row][col + 1];
-        return new Edge[] {top, right, bottom, left};
+    public int getUndrawnBoxEdgeMask(int row, int col) {
+        return edges.undrawnMask(row, col);
     }
 
-    public boolean checkIfAdjacentBoxCompleted(int row, int col, Edge e){
-        Edge[] edges = getBoxEdges(row, col);
-        int edgeInd = 0;
-        for (int i = 0; i < edges.length; i++){
-            if (e.equals(edges[i])){
-                edgeInd = i;
-            }
-        }
+    public boolean isBoxEdgeDrawn(int row, int col, int side) {
+        return edges.isDrawn(edges.boxEdge(row, col, side));
+    }
 
-        if (edgeInd == 0 && row != 0){ //top edge
+    /**
+     * Draws one side of a box and returns the id of the edge that was drawn.
+     */
+    public int drawBoxEdge(int row, int col, int side) {
+        int edge = edges.boxEdge(row, col, side);
+        edges.draw(edge);
+        return edge;
+    }
+
+    /**
+     * Draws one side of a box and returns how many boxes (0, 1 or 2) that edge completed.
+     */
+    public int drawBoxEdgeAndCountCompleted(int row, int col, int side) {
+        return edges.draw(edges.boxEdge(row, col, side));
+    }
+
+    public boolean checkIfAdjacentBoxCompleted(int row, int col, int side){
+        if (side == EdgeBitboard.UP && row != 0){ //top edge
             return boxIsDrawn(row-1, col);
-        } else if (edgeInd == 2 && row != this.getHeight()-1) { // bottom edge
+        } else if (side == EdgeBitboard.DOWN && row != this.getHeight()-1) { // bottom edge
             return boxIsDrawn(row+1, col);
-        } else if (edgeInd == 1 && col != this.getWidth()-1) { // right edge
+        } else if (side == EdgeBitboard.RIGHT && col != this.getWidth()-1) { // right edge
             return boxIsDrawn(row, col+1);
-        } else if (edgeInd == 3 && col != 0) { //left edge
+        } else if (side == EdgeBitboard.LEFT && col != 0) { //left edge
             return boxIsDrawn(row, col-1);
         }
         return false;
 
     }
 
-    public List<Edge> getUndrawnBoxEdges(int row, int col, boolean setEdgeName) {
-        List<Edge> toRet = new ArrayList<>();
-        Edge[] edges = getBoxEdges(row, col);
-        for (int i = 0; i < edges.length; i++ ){
-            if (!edges[i].isDrawn){
-                if(setEdgeName){
-                    edges[i].setType(getEdgeName(i));
-                }
-                toRet.add(edges[i]);
-            }
-        }
-        return toRet;
-    }
-
     public List<String> getUndrawnBoxEdgeNames(int row, int col) {
         List<String> toRet = new ArrayList<>();
-        String[] names = {"up", "right", "down", "left"};
-        Edge[] edges = getBoxEdges(row, col);
-        for(int i = 0; i < edges.length; i++){
-            if(!edges[i].isDrawn){
-                toRet.add(names[i]);
+        int undrawn = edges.undrawnMask(row, col);
+        for(int i = 0; i < EDGE_NAMES.length; i++){
+            if((undrawn & (1 << i)) != 0){
+                toRet.add(EDGE_NAMES[i]);
             }
         }
         return toRet;
     }
 
     public String getEdgeName(int i){
-        String[] names = {"up", "right", "down", "left"};
-        return names[i];
-    }
-
-    public int getIndexFromDirection (String direction){
-        String[] names = {"up", "right", "down", "left"};
-        for (int i = 0; i < names.length; i++){
-            if (names[i].equals(direction)){
-                return i;
-            }
-        }
-        return -1;
-    }
-
-
-    public void renderRowHorizontalLine(int row) {
-        for (int col = 0; col < super.getWidth(); col++){ //printing top line of each row
-            System.out.print("+");
-
-            if (row == super.getHeight() && getBoxEdges(row-1, col)[2].isDrawn){
-                System.out.print("-----");
-            }else if (  row != super.getHeight() && getBoxEdges(row, col)[0].isDrawn){
-                System.out.print("-----");
-            }
-            else{
-                System.out.print("     ");
-            }
-        }
-        System.out.print("+");
-
+        return EDGE_NAMES[i];
     }
 
-    public void renderRowVerticalLines(int row) {
-        for(int i = 0; i < 1; i++){
-            String line = "";
-            for (int col = 0; col <  super.getWidth(); col++ ){
-                if (getBoxEdges(row, col)[3].isDrawn){
-                    String tileValue = tiles[row][col].getPiece().toString();
-
-                    if (Integer.parseInt(tileValue) < 10){
-                        line += "|  " + tileValue + "  ";
-                    }
-                    else{
-                        line += "|  " + tileValue + " ";
-                    }
 
-                }
-                else{
-                    String tileValue = tiles[row][col].getPiece().toString();
-                    if (Integer.parseInt(tileValue) < 10){
-                        line += "   " + tileValue + "  ";
-                    }
-                    else{
-                        line += "   " + tileValue + " ";
-                    }
-                }
-                if (col == super.getWidth() - 1 && getBoxEdges(row, col)[1].isDrawn){
-                    line += "|";
-                }
-            }
-            System.out.println("\n"+line);
-        }
-    }
-
-    public void renderRowVerticalLines(int row, Integer[] pawnPositions, List<Integer> validTiles) {
-        for(int i = 0; i < 1; i++){
-            String line = "";
-            for (int col = 0; col <  super.getWidth(); col++ ){
-                if (getBoxEdges(row, col)[3].isDrawn){
-                    String tileValue = tiles[row][col].getPiece().toString();
-                    String tileVal = tileValue;
-                    if (Arrays.asList(pawnPositions).contains(Integer.parseInt(tileValue))){
-                        tileValue = Utility.colorString(tileValue, Utility.findIndex(pawnPositions, Integer.parseInt(tileValue)));
-                    } else if (validTiles!= null && validTiles.contains(Integer.parseInt(tileValue))) {
-                        tileValue = Utility.colorString(tileValue, -1);
-                    }
-
-                    if (Integer.parseInt(tileVal) < 10){
-                        line += "|  " + tileValue + "  ";
-                    }
-                    else{
-                        line += "|  " + tileValue + " ";
-                    }
-
-                }
-                else{
-                    String tileValue = tiles[row][col].getPiece().toString();
-                    String tileVal = tileValue;
-
-                    if (Arrays.asList(pawnPositions).contains(Integer.parseInt(tileValue))){
-                        tileValue = Utility.colorString( tileValue, Utility.findIndex(pawnPositions, Integer.parseInt(tileValue)) );
-                    }
-                    else if (validTiles!= null && validTiles.contains(Integer.parseInt(tileValue))) {
-                        tileValue = Utility.colorString(tileValue, -1);
-                    }
-
-                    if (Integer.parseInt(tileVal) < 10){
-                        line += "   " + tileValue + "  ";
-                    }
-                    else{
-                        line += "   " + tileValue + " ";
-                    }
-                }
-                if (col == super.getWidth() - 1 && getBoxEdges(row, col)[1].isDrawn){
-                    line += "|";
-                }
-            }
-            System.out.println("\n"+line);
-        }
-    }
     @Override
     public void renderBoard() {
-        for(int row = 0;  row < super.getHeight(); row++){
-            renderRowHorizontalLine(row);
-            renderRowVerticalLines(row);
-        }
-        renderRowHorizontalLine(super.getHeight());
-
-
+        getRenderer().renderEdges(this, null, null);
     }
 
     public void renderBoard(Integer[] pawnPositions,  List<Integer> validTiles) {
-        for(int row = 0;  row < super.getHeight(); row++){
-            renderRowHorizontalLine(row);
-            renderRowVerticalLines(row, pawnPositions, validTiles);
-        }
-        renderRowHorizontalLine(super.getHeight());
-
-
+        getRenderer().renderEdges(this, pawnPositions, validTiles);
     }
 
     public boolean boxIsDrawn(int row, int col){
-        Edge[] edges = this.getBoxEdges(row, col);
-        for(Edge e: edges){
-            if (!e.isDrawn){
-                return false;
-            }
-        }
-        return true;
+        return edges.drawnSideCount(row * getWidth() + col) == 4;
     }
 
     public boolean boardIsDrawn(){
-        for (int row = 0; row < super.getHeight(); row++){
-            for(int col = 0; col < super.getWidth(); col++){
-                if (!boxIsDrawn(row,col)){
-                    return false;
-                }
-            }
-        }
-        return true;
+        return edges.allBoxesCompleted();
     }
 
 
 
-    public boolean canReachTarget(int x, int y, int targetRow, int targetCol, boolean checkRow) {
-
-        boolean[][] visited = new boolean[super.getHeight()][super.getWidth()];
-        return dfs(x, y, targetRow, targetCol, visited, checkRow);
-    }
-
-    /**
-     * implements the DFS algorithm to see whether a wall placement should be allowed or not
-     * @param x
-     * @param y
-     * @param targetRow
-     * @param targetCol
-     * @param visited
-     * @param checkRow
-     * @return
-     */
-    private boolean dfs(int x, int y, int targetRow, int targetCol, boolean[][] visited, boolean checkRow) {
-        if ((checkRow && x == targetRow) || (!checkRow && y == targetCol)) {
-            return true;
-        }
-        if (x < 0 || x >= super.getHeight() || y < 0 || y >= super.getWidth() || visited[x][y]) {
-            return false;
-        }
-
-        visited[x][y] = true;
-
-        Edge[] boxEdges = getBoxEdges(x, y);
-
-        // Up: Check if there is no horizontal edge above and no wall above
-        if (x > 0 && !boxEdges[0].isDrawn && !visited[x-1][y] && dfs(x - 1, y, targetRow, targetCol, visited, checkRow) ) {
-            return true;
-        }
-
-        // Down: Check if there is no horizontal edge below and no wall below
-        if (x < super.getHeight() - 1  && !boxEdges[2].isDrawn && !visited[x+1][y] && dfs(x + 1, y, targetRow, targetCol, visited, checkRow)) {
-            return true;
-        }
-
-        // Left: Check if there is no vertical edge to the left and no wall to the left
-        if (y > 0 && !boxEdges[3].isDrawn && !visited[x][y-1] && dfs(x, y - 1, targetRow, targetCol, visited, checkRow)) {
-            return true;
-        }
-
-        // Right: Check if there is no vertical edge to the right and no wall to the right
-        if (y < super.getWidth() - 1  && !boxEdges[1].isDrawn && !visited[x][y+1] && dfs(x, y + 1, targetRow, targetCol, visited, checkRow)) {
-            return true;
-        }
-
-        return false;
-    }
-
-
     public void fillBorderWalls(){
         for (int y = 0; y < getWidth(); y++ ){
             for (int x = 0; x < getHeight(); x++ ){
-                Edge[] edges = getBoxEdges(x,y);
                 if (x == 0) {
-                    edges[0].isDrawn = true;
+                    drawBoxEdge(x, y, EdgeBitboard.UP);
                 }
                 else if(x == getHeight() - 1){
-                    edges[2].isDrawn = true;
+                    drawBoxEdge(x, y, EdgeBitboard.DOWN);
                 }
                 if (y == 0){
-                    edges[3].isDrawn = true;
+                    drawBoxEdge(x, y, EdgeBitboard.LEFT);
                 }
                 else if (y ==  getWidth()-1){
-                    edges[1].isDrawn = true;
+                    drawBoxEdge(x, y, EdgeBitboard.RIGHT);
                 }
             }
         }
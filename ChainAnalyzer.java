@@ -0,0 +1,466 @@
+import java.util.Arrays;
+
+/**
+ * Plays Dots & Boxes endgames by formula. In the strings-and-coins view every box is a coin, every undrawn edge
+ * is a string tied to the one or two coins beside it (border edges are tied to the ground), and drawing an edge
+ * cuts the string. Once every box has at most two undrawn sides the coins fall apart into chains (paths of
+ * coins whose ends hang on the ground) and loops (closed rings of coins), and the game is decided by the order
+ * in which the players open them.
+ *
+ * The exact value of such a position follows from the multiset of chain and loop lengths alone. The player
+ * who has to open a component picks one; the opponent either takes every box of it and moves next, or keeps
+ * control by taking all but two boxes of a chain (four of a loop) and handing those over with a double-dealing
+ * move, so the opener has to open the next component too. Values are memoized on the multiset, which makes an
+ * 8x8 endgame a matter of microseconds. A chain of two is opened in the middle so it cannot be double-dealt,
+ * longer chains at an end.
+ *
+ * The analyzer also reports the controlled value (what the player in control wins by keeping control to the
+ * end) and the long chain rule parity, which tells who gets control when the board has not fallen apart yet.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ChainAnalyzer {
+
+    private static final int GROUND = -1;
+
+    private EdgeBitboard board;
+    private int boxes;
+
+    //values memoized on a multiset of unopened components, keyed by the sum of its components' Zobrist keys;
+    //open addressing with linear probing, and the key 0 marks an empty slot
+    private long[] componentKeys = new long[0]; //a chain of length n at [2 * n], a loop at [2 * n - 1]
+    private long[] memoKeys = new long[1 << 10];
+    private int[] memoValues = new int[1 << 10];
+    private int memoCount;
+    private int[][] levels = new int[1][0];     //per number of components, the buffer value(...) reads them from
+
+    //the components of the last analyzed position: boxes in path order, from componentStart[c] to componentStart[c + 1]
+    private int[] path = new int[0];
+    private int[] componentStart = new int[1];
+    private int[] componentOpenEnds = new int[0]; //capturable ends: 0 for an unopened chain, 2 for an opened loop
+    private boolean[] componentLoop = new boolean[0];
+    private int componentCount;
+    private boolean[] visited = new boolean[0];
+
+    /**
+     * Returns whether the position can be played by formula: every box has at most two undrawn sides.
+     */
+    public static boolean isSimpleEndgame(EdgeBitboard board) {
+        return board.allBoxesNarrow();
+    }
+
+    /**
+     * Returns the long chain rule's verdict for a board with the given number of long chains (three or more
+     * boxes): the first player to move in the game gets control if dots + long chains is even.
+     */
+    public static boolean favorsFirstPlayer(EdgeBitboard board, int longChains) {
+        int dots = (board.getWidth() + 1) * (board.getHeight() + 1);
+        return (dots + longChains) % 2 == 0;
+    }
+
+    /**
+     * Returns the number of boxes the team to move will still win minus the number the other team will still
+     * win, with best play from both sides. Only defined for simple endgames of two teams.
+     */
+    public int value(EdgeBitboard board) {
+        analyze(board);
+        int open = openBoxes();
+        int rest = closedValue(-1);
+        int best = open + rest;
+        int doubleDeal = bestDoubleDeal();
+        if (doubleDeal != -1) {
+            best = Math.max(best, open - (componentLoop[doubleDeal] ? 8 : 4) - rest);
+        }
+        return best;
+    }
+
+    /**
+     * Picks the edge the team to move should draw in a simple endgame, or returns -1 if every edge is drawn.
+     */
+    public int chooseEdge(EdgeBitboard board) {
+        analyze(board);
+        if (componentCount == 0) {
+            return -1;
+        }
+        int open = openBoxes();
+        if (open > 0) {
+            int rest = closedValue(-1);
+            int doubleDeal = bestDoubleDeal();
+            if (doubleDeal == -1 || open + rest >= open - (componentLoop[doubleDeal] ? 8 : 4) - rest) {
+                return captureEdge(firstOpenComponent(-1));
+            }
+            int other = firstOpenComponent(doubleDeal);
+            if (other != -1) {
+                return captureEdge(other); //take everything else before handing anything over
+            }
+            int length = length(doubleDeal);
+            if (length > (componentLoop[doubleDeal] ? 4 : 2)) {
+                return captureEdge(doubleDeal);
+            }
+            return doubleDealEdge(doubleDeal);
+        }
+
+        int best = Integer.MIN_VALUE;
+        int bestComponent = 0;
+        for (int c = 0; c < componentCount; c++) {
+            int value = openingValue(c);
+            if (value > best) {
+                best = value;
+                bestComponent = c;
+            }
+        }
+        return openingEdge(bestComponent);
+    }
+
+    /**
+     * Returns the number of long chains (three boxes or more) that are not opened yet.
+     */
+    public int countLongChains(EdgeBitboard board) {
+        analyze(board);
+        int count = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (!componentLoop[c] && componentOpenEnds[c] == 0 && length(c) >= 3) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the controlled value of the unopened long chains and loops: what the player in control wins by
+     * keeping control until the last one, i.e. their boxes minus 4 per chain and 8 per loop handed back, plus the
+     * last component, which is taken whole. Short chains are left out.
+     */
+    public int controlledValue(EdgeBitboard board) {
+        analyze(board);
+        int value = 0;
+        int chains = 0;
+        int loops = 0;
+        for (int c = 0; c < componentCount; c++) {
+            int length = length(c);
+            if (componentOpenEnds[c] != 0 || (!componentLoop[c] && length < 3)) {
+                continue;
+            }
+            value += length;
+            if (componentLoop[c]) {
+                loops++;
+            }
+            else {
+                chains++;
+            }
+        }
+        int terminalBonus = chains > 0 ? 4 : loops > 0 ? 8 : 0;
+        return value - 4 * chains - 8 * loops + terminalBonus;
+    }
+
+    /**
+     * Value for the player who has to open one of the first count unopened components, given by their sorted
+     * lengths (loops negative) in levels[count]. key is the multiset's memo key; opening a component takes its
+     * key off, and the rest is copied into levels[count - 1], so the recursion allocates nothing.
+     */
+    private int value(int[] components, int count, long key) {
+        if (count == 0) {
+            return 0;
+        }
+        int slot = findMemo(key);
+        if (memoKeys[slot] != 0) {
+            return memoValues[slot];
+        }
+        int[] rest = levels[count - 1];
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && components[i] == components[i - 1]) {
+                continue;
+            }
+            System.arraycopy(components, 0, rest, 0, i);
+            System.arraycopy(components, i + 1, rest, i, count - 1 - i);
+            int restValue = value(rest, count - 1, key - componentKey(components[i]));
+            best = Math.max(best, openingValue(components[i], restValue));
+        }
+        storeMemo(key, best);
+        return best;
+    }
+
+    private long componentKey(int component) {
+        return component < 0 ? componentKeys[-2 * component - 1] : componentKeys[2 * component];
+    }
+
+    private int findMemo(long key) {
+        int mask = memoKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (memoKeys[slot] != 0 && memoKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void storeMemo(long key, int value) {
+        int slot = findMemo(key); //the recursion may have grown the table since the lookup
+        memoKeys[slot] = key;
+        memoValues[slot] = value;
+        if (++memoCount * 2 > memoKeys.length) {
+            long[] oldKeys = memoKeys;
+            int[] oldValues = memoValues;
+            memoKeys = new long[oldKeys.length * 2];
+            memoValues = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int moved = findMemo(oldKeys[i]);
+                    memoKeys[moved] = oldKeys[i];
+                    memoValues[moved] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Value for the opener of a chain (length > 0) or loop (length < 0) when the rest is worth rest to whoever
+     * has to open next: the opponent takes it all and opens next, or keeps control with a double-dealing move.
+     */
+    private static int openingValue(int component, int rest) {
+        if (component < 0) {
+            int length = -component;
+            return Math.min(-length - rest, 8 - length + rest);
+        }
+        if (component <= 2) {
+            return -component - rest;
+        }
+        return Math.min(-component - rest, 4 - component + rest);
+    }
+
+    private int openingValue(int c) {
+        return openingValue(componentLoop[c] ? -length(c) : length(c), closedValue(c));
+    }
+
+    /**
+     * Value of the unopened components except skip for whoever has to open one of them.
+     */
+    private int closedValue(int skip) {
+        int count = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (c != skip && componentOpenEnds[c] == 0) {
+                count++;
+            }
+        }
+        if (levels.length <= count) {
+            levels = new int[count + 1][];
+            for (int n = 0; n <= count; n++) {
+                levels[n] = new int[n];
+            }
+        }
+        int[] components = levels[count];
+        long key = 0;
+        count = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (c != skip && componentOpenEnds[c] == 0) {
+                components[count] = componentLoop[c] ? -length(c) : length(c);
+                key += componentKey(components[count++]);
+            }
+        }
+        Arrays.sort(components, 0, count);
+        return value(components, count, key);
+    }
+
+    private int openBoxes() {
+        int total = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (componentOpenEnds[c] > 0) {
+                total += length(c);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the opened component where keeping control costs least, or -1 if no opened component allows it.
+     */
+    private int bestDoubleDeal() {
+        int best = -1;
+        for (int c = 0; c < componentCount; c++) {
+            if (componentOpenEnds[c] == 0) {
+                continue;
+            }
+            boolean possible = componentLoop[c] ? length(c) >= 4 : length(c) >= 2;
+            if (possible && (best == -1 || (componentLoop[best] && !componentLoop[c]))) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private int firstOpenComponent(int skip) {
+        for (int c = 0; c < componentCount; c++) {
+            if (c != skip && componentOpenEnds[c] > 0) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private int length(int c) {
+        return componentStart[c + 1] - componentStart[c];
+    }
+
+    /**
+     * The edge that takes the box at a capturable end of an opened component.
+     */
+    private int captureEdge(int c) {
+        int first = path[componentStart[c]];
+        int box = board.drawnSideCount(first) == 3 ? first : path[componentStart[c + 1] - 1];
+        return undrawnEdge(box, -2);
+    }
+
+    /**
+     * The edge that hands over the last two boxes of an opened chain (cutting its string to the ground) or the
+     * last four of an opened loop (cutting it between the two pairs) without taking any.
+     */
+    private int doubleDealEdge(int c) {
+        int start = componentStart[c];
+        if (componentLoop[c]) {
+            return sharedEdge(path[start + 1], path[start + 2]);
+        }
+        int first = path[start];
+        int far = board.drawnSideCount(first) == 3 ? path[start + 1] : first;
+        return undrawnEdge(far, GROUND);
+    }
+
+    /**
+     * The edge that opens an unopened component: the middle of a chain of two, the ground end of any other
+     * chain, any string of a loop.
+     */
+    private int openingEdge(int c) {
+        int start = componentStart[c];
+        if (componentLoop[c]) {
+            return sharedEdge(path[start], path[start + 1]);
+        }
+        if (length(c) == 2) {
+            return sharedEdge(path[start], path[start + 1]);
+        }
+        return undrawnEdge(path[start], GROUND);
+    }
+
+    /**
+     * Returns an undrawn edge of box leading to neighbor (GROUND for the border), or any undrawn edge for -2.
+     */
+    private int undrawnEdge(int box, int neighbor) {
+        int row = box / board.getWidth();
+        int col = box % board.getWidth();
+        for (int side = 0; side < 4; side++) {
+            int edge = board.boxEdge(row, col, side);
+            if (!board.isDrawn(edge) && (neighbor == -2 || across(edge, box) == neighbor)) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+
+    private int sharedEdge(int a, int b) {
+        return undrawnEdge(a, b);
+    }
+
+    /**
+     * The box on the other side of edge from box, or GROUND.
+     */
+    private int across(int edge, int box) {
+        int other = board.edgeBox(edge, 0);
+        return other == box ? board.edgeBox(edge, 1) : other;
+    }
+
+    /**
+     * Splits the position into chains and loops; every box must have at most two undrawn sides.
+     */
+    private void analyze(EdgeBitboard board) {
+        this.board = board;
+        boxes = board.getWidth() * board.getHeight();
+        if (visited.length != boxes) {
+            visited = new boolean[boxes];
+            path = new int[boxes];
+            componentStart = new int[boxes + 1];
+            componentOpenEnds = new int[boxes];
+            componentLoop = new boolean[boxes];
+        }
+        if (componentKeys.length <= 2 * boxes) {
+            //the memo outlives the board, so the keys of a bigger board extend those of a smaller one
+            componentKeys = Zobrist.keys(Zobrist.COMPONENTS, 2 * boxes + 1);
+        }
+        Arrays.fill(visited, false);
+        componentCount = 0;
+        int filled = 0;
+
+        for (int box = 0; box < boxes; box++) {
+            if (visited[box] || board.drawnSideCount(box) == 4) {
+                continue;
+            }
+            //walk to one end of the component, or all the way round a loop
+            int end = box;
+            int previous = GROUND;
+            boolean loop = false;
+            while (true) {
+                int next = nextBox(end, previous);
+                if (next == GROUND) {
+                    break;
+                }
+                previous = end;
+                end = next;
+                if (end == box) {
+                    loop = true;
+                    break;
+                }
+            }
+
+            componentStart[componentCount] = filled;
+            previous = loop ? nextBox(box, GROUND) : GROUND; //around a loop, go the other way from box
+            int current = loop ? box : end;
+            do {
+                visited[current] = true;
+                path[filled++] = current;
+                int next = nextBox(current, previous);
+                previous = current;
+                current = next;
+            } while (current != GROUND && !visited[current]);
+
+            int first = path[componentStart[componentCount]];
+            int last = path[filled - 1];
+            int openEnds;
+            if (first == last) {
+                openEnds = board.drawnSideCount(first) == 3 ? 1 : 0;
+            }
+            else {
+                openEnds = (board.drawnSideCount(first) == 3 ? 1 : 0) + (board.drawnSideCount(last) == 3 ? 1 : 0);
+            }
+            componentOpenEnds[componentCount] = openEnds;
+            //an opened loop is a path with both ends capturable and no string to the ground
+            componentLoop[componentCount] = loop || openEnds == 2;
+            componentCount++;
+        }
+        componentStart[componentCount] = filled;
+    }
+
+    /**
+     * The box joined to box by an undrawn edge other than previous, or GROUND if there is none.
+     */
+    private int nextBox(int box, int previous) {
+        int row = box / board.getWidth();
+        int col = box % board.getWidth();
+        for (int side = 0; side < 4; side++) {
+            int edge = board.boxEdge(row, col, side);
+            if (board.isDrawn(edge)) {
+                continue;
+            }
+            int other = across(edge, box);
+            if (other != GROUND && other != previous) {
+                return other;
+            }
+        }
+        return GROUND;
+    }
+}
@@ -157,6 +157,14 @@ public class ConsoleController {
     }
 
     public static Team[] createTeams(){
+        return createTeams(false);
+    }
+
+    /**
+     * Asks for the teams and their players. When allowComputer is set, each team can instead be handed to the
+     * computer, which then plays all of that team's turns.
+     */
+    public static Team[] createTeams(boolean allowComputer){
         int numTeams = Input.getIntInput(2,4, "Please input the number of teams that will be playing," +
                 "\nremember that each team must have an equal number of players:");
 
@@ -165,6 +173,15 @@ public class ConsoleController {
         Team[] toRet = new Team[numTeams];
 
         for (int i = 0; i< numTeams; i++){
+            if (allowComputer && askYesNo("Should team " + (i+1) + " be played by the computer? (yes/no)")){
+                Team team = new Team("Computer " + (i+1), numPlayersPerTeam);
+                for (int p = 0; p < numPlayersPerTeam; p++){
+                    team.getPlayers()[p] = new Player("Computer " + (i+1) + (numPlayersPerTeam > 1 ? "." + (p+1) : ""), i);
+                    team.getPlayers()[p].setComputer(true);
+                }
+                toRet[i] = team;
+                continue;
+            }
             String teamName = Input.getStringInput(15, "Team " + (i+1) + ", please input your team name:");
             System.out.println("Great, lets get some info about players in "+ teamName);
             Team team = new Team(teamName, numPlayersPerTeam);
@@ -178,6 +195,19 @@ public class ConsoleController {
         return toRet;
     }
 
+    private static boolean askYesNo(String prompt){
+        while(true){
+            String response = Input.getStringInput(3, prompt);
+            if (response.equalsIgnoreCase("yes") || response.equalsIgnoreCase("y")){
+                return true;
+            }
+            if (response.equalsIgnoreCase("no") || response.equalsIgnoreCase("n")){
+                return false;
+            }
+            System.out.println("Invalid input! Please enter 'yes' or 'no'");
+        }
+    }
+
     public static void announceTeamScores(Team[] teams, Integer[] teamPoints) {
         List<Map.Entry<Team, Integer>> scoreBoard = new ArrayList<>();
         for (int i = 0; i < teams.length; i++) {
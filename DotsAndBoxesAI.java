@@ -0,0 +1,415 @@
+import java.util.Arrays;
+
+/**
+ * Computer player for Dots & Boxes. Searches the edges still to be drawn with alpha-beta and iterative
+ * deepening until its time budget runs out, and plays the best edge of the deepest finished iteration.
+ * Once few enough edges remain, it goes straight from a one-edge search to searching to the end of the game.
+ * Completing a box keeps the turn, so such a move is followed by another move of the same team rather
+ * than the next team's. With more than two teams every other team is assumed to play against the computer
+ * (paranoid search), which reduces to ordinary minimax for two teams.
+ *
+ * Values are the boxes the computer's team will still win minus the boxes the other teams will still win.
+ * Moves are ordered with the transposition table's best move first, then edges that complete a box, then
+ * edges that give no box away, and edges that hand a box to the next team last. The transposition table
+ * is keyed on the drawn-edge bitmask itself on boards of up to 64 edges (every 3x3 and 5x5 board) and on a
+ * Zobrist key of the edges otherwise, together with the team to move. Small boards use the canonical mask under the
+ * board's rotations and reflections, so all mirror images of a position share one entry; best moves are
+ * stored in the canonical frame and mapped back when read.
+ *
+ * In two-team games, once every box has at most two undrawn sides the position is left to ChainAnalyzer,
+ * both at the root, where the edge is then chosen by formula, and inside the search, where such positions
+ * get their exact value without being searched any further. With a DotsAndBoxesTablebase for the board,
+ * two-team games are played straight from the table.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class DotsAndBoxesAI {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+    private static final int INFINITY = 1 << 20;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private static final int TABLE_BITS = 20;
+    //with this few edges left, skip from the first iteration straight to solving: the horizon evaluations of the
+    //iterations in between cost more than they help the move ordering
+    private static final int SOLVE_EDGES = 24;
+
+    private static long defaultBudgetMillis = DEFAULT_BUDGET_MILLIS;
+
+    private final int numTeams;
+    private final long budgetNanos;
+
+    private final ChainAnalyzer chains = new ChainAnalyzer();
+    private DotsAndBoxesTablebase tablebase;
+    private final long[] tableKeys = new long[1 << TABLE_BITS];
+    private final long[] tableData = new long[1 << TABLE_BITS]; //see store for the layout
+    private int tableTeam = -1; //the computer team the table's values were computed for
+    private int tableWidth;     //the board size the table's positions are from
+    private int tableHeight;
+
+    private EdgeBitboard board;
+    private SymmetryCanonicalizer symmetry; //only for boards whose mask fits in one word
+    private int keyTransform;               //the transform the last key() applied
+    private int rootTeam;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int[][] moveBuffers = new int[0][];
+    private int[][] orderBuffers = new int[0][];
+
+    private int lastDepth;
+    private int lastValue;
+    private boolean lastSolved;
+
+    /**
+     * Creates a player for a game with the given number of teams, using the default time budget.
+     */
+    public DotsAndBoxesAI(int numTeams) {
+        this(numTeams, defaultBudgetMillis);
+    }
+
+    public DotsAndBoxesAI(int numTeams, long budgetMillis) {
+        this.numTeams = numTeams;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    /**
+     * Sets the time budget of players created from now on without an explicit budget.
+     */
+    public static void setDefaultBudgetMillis(long millis) {
+        defaultBudgetMillis = millis;
+    }
+
+    /**
+     * Plays two-team games on the tablebase's board size from the table instead of searching; null turns it off.
+     */
+    public void setTablebase(DotsAndBoxesTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Returns the depth (in edges) of the last finished iteration of the last search.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Returns the value of the chosen edge: boxes still to be won by the computer's team minus those of the others.
+     */
+    public int getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * Returns whether the last search reached the end of the game, making its value exact.
+     */
+    public boolean isLastSolved() {
+        return lastSolved;
+    }
+
+    public long getNodesSearched() {
+        return nodes;
+    }
+
+    /**
+     * Picks the edge for team to draw. The edge state is copied, so the caller's board is not touched.
+     * Returns -1 if every edge is already drawn.
+     */
+    public int chooseEdge(EdgeBitboard edges, int team) {
+        board = edges.copy();
+        if (tableWidth != board.getWidth() || tableHeight != board.getHeight()) {
+            //every board size keys its edges from the same Zobrist keys, so entries of another size would alias
+            tableWidth = board.getWidth();
+            tableHeight = board.getHeight();
+            Arrays.fill(tableKeys, 0L);
+        }
+        if (board.getWords().length == 1 && (symmetry == null || symmetry.getWidth() != board.getWidth()
+                || symmetry.getHeight() != board.getHeight())) {
+            symmetry = new SymmetryCanonicalizer(board.getWidth(), board.getHeight());
+        }
+        rootTeam = team;
+        deadline = System.nanoTime() + budgetNanos;
+        aborted = false;
+        nodes = 0;
+        if (tableTeam != team) {
+            Arrays.fill(tableKeys, 0L);
+            tableTeam = team;
+        }
+
+        int remaining = 0;
+        for (int e = 0; e < board.getEdgeCount(); e++) {
+            if (!board.isDrawn(e)) {
+                remaining++;
+            }
+        }
+        if (remaining == 0) {
+            return -1;
+        }
+        if (numTeams == 2 && tablebase != null && tablebase.getWidth() == board.getWidth()
+                && tablebase.getHeight() == board.getHeight()) {
+            lastValue = tablebase.value(board);
+            lastDepth = remaining;
+            lastSolved = true;
+            return tablebase.chooseEdge(board);
+        }
+        if (numTeams == 2 && ChainAnalyzer.isSimpleEndgame(board)) {
+            lastValue = chains.value(board);
+            lastDepth = remaining;
+            lastSolved = true;
+            return chains.chooseEdge(board);
+        }
+        ensureBuffers(remaining + 1);
+
+        int bestEdge = -1;
+        for (int depth = 1; depth <= remaining; depth = depth < 2 && remaining <= SOLVE_EDGES ? remaining : depth + 1) {
+            int[] result = searchRoot(depth, remaining);
+            if (aborted) {
+                break;
+            }
+            bestEdge = result[0];
+            lastValue = result[1];
+            lastDepth = depth;
+            lastSolved = depth == remaining;
+        }
+        return bestEdge;
+    }
+
+    /**
+     * Searches every root move to depth and returns {best edge, value}.
+     */
+    private int[] searchRoot(int depth, int remaining) {
+        long key = key();
+        int transform = keyTransform;
+        int slot = slot(key, rootTeam);
+        int ttMove = tableKeys[slot] == key && teamOf(tableData[slot]) == rootTeam ? fromKeyFrame(moveOf(tableData[slot]), transform) : -1;
+        int count = orderedMoves(0, ttMove);
+        int[] moves = moveBuffers[0];
+        int alpha = -INFINITY;
+        int bestEdge = moves[0];
+        for (int i = 0; i < count; i++) {
+            int edge = moves[i];
+            int completed = board.draw(edge);
+            int next = completed > 0 ? rootTeam : (rootTeam + 1) % numTeams;
+            int value = completed + search(1, depth - 1, remaining - 1, alpha - completed, INFINITY, next);
+            board.clear(edge);
+            if (aborted) {
+                break;
+            }
+            if (value > alpha) {
+                alpha = value;
+                bestEdge = edge;
+            }
+        }
+        if (!aborted) {
+            store(key, rootTeam, depth, alpha, EXACT, toKeyFrame(bestEdge, transform));
+        }
+        return new int[]{bestEdge, alpha};
+    }
+
+    private int search(int ply, int depth, int remaining, int alpha, int beta, int team) {
+        if ((++nodes & 0xFFF) == 0 && System.nanoTime() - deadline > 0) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (remaining == 0) {
+            return 0;
+        }
+        boolean maximizing = team == rootTeam;
+        if (numTeams == 2 && board.allBoxesNarrow()) {
+            int value = chains.value(board);
+            return maximizing ? value : -value;
+        }
+        if (depth == 0) {
+            return evaluate(maximizing);
+        }
+
+        long key = key();
+        int transform = keyTransform;
+        int slot = slot(key, team);
+        int ttMove = -1;
+        if (tableKeys[slot] == key && teamOf(tableData[slot]) == team) {
+            long data = tableData[slot];
+            ttMove = fromKeyFrame(moveOf(data), transform);
+            if (depthOf(data) >= depth) {
+                int value = valueOf(data);
+                int flag = flagOf(data);
+                if (flag == EXACT || (flag == LOWER && value >= beta) || (flag == UPPER && value <= alpha)) {
+                    return value;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int count = orderedMoves(ply, ttMove);
+        int[] moves = moveBuffers[ply];
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = moves[0];
+        for (int i = 0; i < count; i++) {
+            int edge = moves[i];
+            int completed = board.draw(edge);
+            int gain = maximizing ? completed : -completed;
+            int next = completed > 0 ? team : (team + 1) % numTeams;
+            int value = gain + search(ply + 1, depth - 1, remaining - 1, alpha - gain, beta - gain, next);
+            board.clear(edge);
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestMove = edge;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            }
+            else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int flag = best <= originalAlpha ? UPPER : best >= originalBeta ? LOWER : EXACT;
+        store(key, team, depth, best, flag, toKeyFrame(bestMove, transform));
+        return best;
+    }
+
+    /**
+     * Scores a position at the search horizon: boxes with three sides drawn are there for the taking by the
+     * team to move.
+     */
+    private int evaluate(boolean maximizing) {
+        int capturable = 0;
+        int boxes = board.getWidth() * board.getHeight();
+        for (int box = 0; box < boxes; box++) {
+            if (board.drawnSideCount(box) == 3) {
+                capturable++;
+            }
+        }
+        return maximizing ? capturable : -capturable;
+    }
+
+    /**
+     * Fills the move buffer for ply with the undrawn edges, best candidates first, and returns their number.
+     */
+    private int orderedMoves(int ply, int firstMove) {
+        int[] moves = moveBuffers[ply];
+        int[] scores = orderBuffers[ply];
+        int count = 0;
+        for (int edge = 0; edge < board.getEdgeCount(); edge++) {
+            if (board.isDrawn(edge)) {
+                continue;
+            }
+            int score;
+            if (edge == firstMove) {
+                score = 4;
+            }
+            else {
+                score = 2;
+                for (int k = 0; k < 2; k++) {
+                    int box = board.edgeBox(edge, k);
+                    if (box == -1) {
+                        continue;
+                    }
+                    int sides = board.drawnSideCount(box);
+                    if (sides == 3) {
+                        score = 3;
+                        break;
+                    }
+                    if (sides == 2) {
+                        score = Math.min(score, 1);
+                    }
+                }
+            }
+            //insertion by score keeps the order stable within each class
+            int i = count++;
+            while (i > 0 && scores[i - 1] < score) {
+                moves[i] = moves[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            moves[i] = edge;
+            scores[i] = score;
+        }
+        return count;
+    }
+
+    private void ensureBuffers(int plies) {
+        if (moveBuffers.length >= plies && (plies == 0 || moveBuffers[0].length >= board.getEdgeCount())) {
+            return;
+        }
+        moveBuffers = new int[plies][board.getEdgeCount()];
+        orderBuffers = new int[plies][board.getEdgeCount()];
+    }
+
+    /**
+     * The canonical drawn-edge mask when it fits in one word, otherwise the board's Zobrist key.
+     */
+    private long key() {
+        long[] words = board.getWords();
+        if (words.length == 1) {
+            keyTransform = symmetry.canonicalTransform(words[0]);
+            //the top bit keeps the empty board from looking like an empty slot
+            return symmetry.transformEdges(keyTransform, words[0]) | Long.MIN_VALUE;
+        }
+        keyTransform = SymmetryCanonicalizer.IDENTITY;
+        long hash = board.getKey();
+        return hash == 0 ? 1 : hash;
+    }
+
+    private int toKeyFrame(int edge, int transform) {
+        return transform == SymmetryCanonicalizer.IDENTITY ? edge : symmetry.transformEdge(transform, edge);
+    }
+
+    private int fromKeyFrame(int edge, int transform) {
+        return transform == SymmetryCanonicalizer.IDENTITY ? edge
+                : symmetry.transformEdge(SymmetryCanonicalizer.inverse(transform), edge);
+    }
+
+    private static int slot(long key, int team) {
+        long h = (key + team) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> (64 - TABLE_BITS));
+    }
+
+    //data layout: value + 2^19 in bits 0-19, depth in bits 20-29, flag in bits 30-31, move in bits 32-47, team in bits 48-55
+    private void store(long key, int team, int depth, int value, int flag, int move) {
+        int slot = slot(key, team);
+        if (tableKeys[slot] == key && teamOf(tableData[slot]) == team && depthOf(tableData[slot]) > depth) {
+            return; //keep the deeper result for the same position
+        }
+        tableKeys[slot] = key;
+        tableData[slot] = (long) (value + (1 << 19))
+                | (long) Math.min(depth, 1023) << 20
+                | (long) flag << 30
+                | (long) (move & 0xFFFF) << 32
+                | (long) team << 48;
+    }
+
+    private static int valueOf(long data) {
+        return (int) (data & 0xFFFFF) - (1 << 19);
+    }
+
+    private static int depthOf(long data) {
+        return (int) (data >>> 20) & 0x3FF;
+    }
+
+    private static int flagOf(long data) {
+        return (int) (data >>> 30) & 0x3;
+    }
+
+    private static int moveOf(long data) {
+        return (int) (data >>> 32) & 0xFFFF;
+    }
+
+    private static int teamOf(long data) {
+        return (int) (data >>> 48) & 0xFF;
+    }
+}
@@ -16,6 +16,14 @@ public class DotsAndBoxesGame extends Game{
     private Integer[] teamPoints;
 
     private BoardWithEdges board;
+    //with more teams or boxes than this, computer teams use Monte Carlo tree search instead of alpha-beta
+    private static final int SEARCH_MAX_TEAMS = 2;
+    private static final int SEARCH_MAX_BOXES = 25;
+
+    private DotsAndBoxesAI ai; //created when a computer team first moves
+    private int tablebaseWidth;  //board size the ai's tablebase was looked up for
+    private int tablebaseHeight;
+    private DotsAndBoxesMCTS mcts;
     private Difficulty difficulty = Difficulty.EASY; //Since this is a PvP game, it has no impact on the game.
 
     public DotsAndBoxesGame(){
@@ -27,7 +35,7 @@ public class DotsAndBoxesGame extends Game{
         System.out.println("Welcome to Dots & Boxes, the goal of this game is to get as many points as possible by \n" +
                 "connecting boxes together as a team!");
 
-        this.teams = ConsoleController.createTeams();
+        this.teams = ConsoleController.createTeams(true);
 
         if(teams == null){
             System.out.println("You've decided to quit, returning you to the game menu, goodbye!");
@@ -71,7 +79,6 @@ public class DotsAndBoxesGame extends Game{
         boolean winCon = true;
         boolean saySomething = true;
         Queue<Player> queue = ConsoleController.loadPlayerQueue(teams);
-        Tile [] flattenedBoard = board.flattenBoard();
         boolean playerScoredPoint = false;
         Player currPlayer = null;
         while (!checkWinCondition()){
@@ -84,35 +91,19 @@ public class DotsAndBoxesGame extends Game{
                 System.out.println( currPlayer.getpName() +", gets an extra turn for scoring a point!");
             }
 
-            System.out.println( currPlayer.getpName() +", it is your turn, please choose a cell to draw on, then choose which edge you want to draw:");
-            int[] cellCoord;
-            int cellInput;
-            List<Edge> edges;
-            do {
-                cellInput = Input.getIntInput(1, flattenedBoard.length, "Please choose the desired cell:");
-                cellCoord = board.getTileCoords(flattenedBoard[cellInput-1]);
-                edges = board.getUndrawnBoxEdges(cellCoord[0], cellCoord[1],false);
-                if (edges.isEmpty()){
-                    System.out.println("ERROR - Please choose a cell corresponding to an incomplete box.");
-                }
-            }
-            while(edges.isEmpty());
-
-            List<String> edgeNames = board.getUndrawnBoxEdgeNames(cellCoord[0], cellCoord[1]);
-
-            ConsoleController.displayOptions(edgeNames, "Please choose the number corresponding to the available edge to draw:");
-            int edgeChoice = Input.getIntInput(1, edgeNames.size(), "");
-
-            updateGameState(cellCoord, edgeChoice);
+            int[] move = currPlayer.isComputer() ? chooseComputerMove(currPlayer) : readPlayerMove(currPlayer);
+            int[] cellCoord = new int[]{move[0], move[1]};
+            int side = move[2];
+            int boxesCompleted = updateGameState(cellCoord, side);
             // if box completed, assign point
 
 
-            if (board.boxIsDrawn(cellCoord[0], cellCoord[1]) && board.checkIfAdjacentBoxCompleted(cellCoord[0], cellCoord[1], edges.get(edgeChoice-1))){
+            if (boxesCompleted == 2){
                 teamPoints[currPlayer.getTeamNum()]+=2;
                 System.out.println(currPlayer.getpName() + " just completed two boxes! Scoring two points for their team (total: "+ teamPoints[currPlayer.getTeamNum()] +")!");
                 playerScoredPoint = true;
             }
-            else if (board.boxIsDrawn(cellCoord[0], cellCoord[1])|| board.checkIfAdjacentBoxCompleted(cellCoord[0], cellCoord[1], edges.get(edgeChoice-1))){
+            else if (boxesCompleted == 1){
                 teamPoints[currPlayer.getTeamNum()]+=1;
                 System.out.println(currPlayer.getpName() + " just completed a box! Scoring one point for their team (total: "+ teamPoints[currPlayer.getTeamNum()] +")!");
                 playerScoredPoint = true;
@@ -151,9 +142,82 @@ public class DotsAndBoxesGame extends Game{
         return board.boardIsDrawn();
     }
 
-    void updateGameState(int[] cellCoord, int edge) {
-        List<Edge> edges = board.getUndrawnBoxEdges(cellCoord[0], cellCoord[1], false);
-        edges.get(edge-1).isDrawn = true;
+    /**
+     * Asks a player for a cell and one of its undrawn edges, returned as {row, col, side}.
+     */
+    private int[] readPlayerMove(Player player){
+        System.out.println( player.getpName() +", it is your turn, please choose a cell to draw on, then choose which edge you want to draw:");
+        int[] cellCoord;
+        int cellInput;
+        int undrawnSides;
+        do {
+            cellInput = Input.getIntInput(1, board.size(), "Please choose the desired cell:");
+            cellCoord = new int[]{board.rowOf(cellInput-1), board.colOf(cellInput-1)};
+            undrawnSides = board.getUndrawnBoxEdgeMask(cellCoord[0], cellCoord[1]);
+            if (undrawnSides == 0){
+                System.out.println("ERROR - Please choose a cell corresponding to an incomplete box.");
+            }
+        }
+        while(undrawnSides == 0);
+
+        List<String> edgeNames = board.getUndrawnBoxEdgeNames(cellCoord[0], cellCoord[1]);
+
+        ConsoleController.displayOptions(edgeNames, "Please choose the number corresponding to the available edge to draw:");
+        int edgeChoice = Input.getIntInput(1, edgeNames.size(), "");
+
+        return new int[]{cellCoord[0], cellCoord[1], EdgeBitboard.nthSide(undrawnSides, edgeChoice-1)};
+    }
+
+    /**
+     * Lets the AI pick an edge for a computer player, returned as {row, col, side} of a box it borders.
+     */
+    private int[] chooseComputerMove(Player player){
+        EdgeBitboard edges = board.getEdges();
+        int edge;
+        if (teams.length <= SEARCH_MAX_TEAMS && board.size() <= SEARCH_MAX_BOXES){
+            if (ai == null){
+                ai = new DotsAndBoxesAI(teams.length);
+            }
+            if (tablebaseWidth != board.getWidth() || tablebaseHeight != board.getHeight()){
+                tablebaseWidth = board.getWidth();
+                tablebaseHeight = board.getHeight();
+                ai.setTablebase(DotsAndBoxesTablebase.loadIfPresent(board.getWidth(), board.getHeight()));
+            }
+            edge = ai.chooseEdge(edges, player.getTeamNum());
+        }
+        else {
+            if (mcts == null){
+                mcts = new DotsAndBoxesMCTS(teams.length);
+            }
+            int[] scores = new int[teams.length];
+            for (int i = 0; i < scores.length; i++){
+                scores[i] = teamPoints[i];
+            }
+            edge = mcts.chooseEdge(edges, player.getTeamNum(), scores);
+        }
+        int box = edges.edgeBox(edge, 0);
+        int row = board.rowOf(box);
+        int col = board.colOf(box);
+        int side = 0;
+        while (edges.boxEdge(row, col, side) != edge){
+            side++;
+        }
+        System.out.println(player.getpName() + " draws the " + board.getEdgeName(side) + " edge of cell " + (box+1) + ".");
+        return new int[]{row, col, side};
+    }
+
+    /**
+     * Returns the Zobrist key of the drawn edges, which the board updates with every edge drawn.
+     */
+    public long getPositionKey(){
+        return board.getEdges().getKey();
+    }
+
+    /**
+     * Draws the chosen side of a box and returns how many boxes that edge completed.
+     */
+    int updateGameState(int[] cellCoord, int side) {
+        return board.drawBoxEdgeAndCountCompleted(cellCoord[0], cellCoord[1], side);
     }
 
     @Override
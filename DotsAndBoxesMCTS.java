@@ -0,0 +1,444 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Monte Carlo tree search player for Dots & Boxes, for boards and team counts where DotsAndBoxesAI cannot see
+ * far enough. Every thread repeatedly walks down one shared tree with UCT, adds the children of the node it
+ * stops at, plays the game out at random from there and adds the result to every node on its way down.
+ * The best edge is the root child that was visited most.
+ *
+ * The tree lives in preallocated arrays and its statistics are atomic, so threads never lock: a thread counts
+ * its visit to a node on the way down (a virtual loss, which steers the other threads elsewhere until the
+ * result comes in) and adds the reward on the way back. A node is expanded by whichever thread first claims
+ * it; the others play out from it meanwhile. Playouts draw edges on a per-thread EdgeBitboard without
+ * allocating: take a box if one can be taken, otherwise draw an edge that gives no box away if there is one,
+ * otherwise any edge.
+ *
+ * Each team's reward for a playout is mostly whether it finished first (shared between tied teams) and partly
+ * the share of the remaining boxes it won, and every node holds the reward of the team whose move led to it,
+ * so any number of teams is handled. In two-team games a board that has fallen apart into chains and loops is
+ * played by ChainAnalyzer instead.
+ *
+ * Usage: java DotsAndBoxesMCTS [width height teams millis max threads] measures playouts per second for 1,
+ * 2, 4, ... threads.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class DotsAndBoxesMCTS {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 1000;
+    public static final int DEFAULT_CAPACITY = 1 << 21;
+
+    private static final int UNEXPANDED = -1;
+    private static final int EXPANDING = -2;
+    private static final int EXPAND_VISITS = 2;
+    private static final long REWARD_SCALE = 1 << 16;
+    private static final double WIN_WEIGHT = 0.8;
+    private static final double EXPLORATION = 0.7;
+
+    private static long defaultBudgetMillis = DEFAULT_BUDGET_MILLIS;
+
+    private final int numTeams;
+    private final long budgetNanos;
+    private final int threads;
+    private final int capacity;
+
+    //the tree: children of a node are the nodes childStart .. childStart + childCount - 1
+    private final int[] nodeMove;
+    private final int[] childCount;
+    private final AtomicIntegerArray childStart;
+    private final AtomicIntegerArray visits;
+    private final AtomicLongArray rewards; //reward of the team whose move led here, times REWARD_SCALE
+    private final AtomicInteger nodeCount = new AtomicInteger();
+
+    private final ChainAnalyzer chains = new ChainAnalyzer();
+    private final AtomicBoolean stop = new AtomicBoolean();
+    private EdgeBitboard root;
+    private int rootTeam;
+    private int[] rootScores;
+    private long deadline;
+    private long seed = System.nanoTime();
+
+    private long playouts;
+    private long elapsedNanos;
+    private double lastWinRate;
+
+    /**
+     * Creates a player for a game with the given number of teams, using the default time budget and every core.
+     */
+    public DotsAndBoxesMCTS(int numTeams) {
+        this(numTeams, defaultBudgetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    public DotsAndBoxesMCTS(int numTeams, long budgetMillis, int threads) {
+        this(numTeams, budgetMillis, threads, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a player whose tree holds at most capacity nodes; once it is full, leaves are played out
+     * without being expanded.
+     */
+    public DotsAndBoxesMCTS(int numTeams, long budgetMillis, int threads, int capacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed");
+        }
+        this.numTeams = numTeams;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.threads = threads;
+        this.capacity = capacity;
+        nodeMove = new int[capacity];
+        childCount = new int[capacity];
+        childStart = new AtomicIntegerArray(capacity);
+        visits = new AtomicIntegerArray(capacity);
+        rewards = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Sets the time budget of players created from now on without an explicit budget.
+     */
+    public static void setDefaultBudgetMillis(long millis) {
+        defaultBudgetMillis = millis;
+    }
+
+    public int getThreadCount() {
+        return threads;
+    }
+
+    /**
+     * Returns how many playouts the last search finished.
+     */
+    public long getPlayoutCount() {
+        return playouts;
+    }
+
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns how many nodes the last search's tree grew to.
+     */
+    public int getTreeSize() {
+        return Math.min(nodeCount.get(), capacity);
+    }
+
+    /**
+     * Returns the average reward (from 0 to 1) of the chosen edge for the team that plays it.
+     */
+    public double getLastWinRate() {
+        return lastWinRate;
+    }
+
+    /**
+     * Picks the edge for team to draw when no team has scored yet.
+     */
+    public int chooseEdge(EdgeBitboard edges, int team) {
+        return chooseEdge(edges, team, new int[numTeams]);
+    }
+
+    /**
+     * Picks the edge for team to draw given every team's current score. The edge state is copied, so the
+     * caller's board is not touched. Returns -1 if every edge is already drawn.
+     */
+    public int chooseEdge(EdgeBitboard edges, int team, int[] scores) {
+        long begin = System.nanoTime();
+        root = edges.copy();
+        rootTeam = team;
+        rootScores = scores.clone();
+        playouts = 0;
+        if (root.allBoxesCompleted()) {
+            return -1;
+        }
+        if (numTeams == 2 && ChainAnalyzer.isSimpleEndgame(root)) {
+            int margin = chains.value(root) + scores[team] - scores[1 - team];
+            lastWinRate = margin > 0 ? 1 : margin == 0 ? 0.5 : 0;
+            elapsedNanos = System.nanoTime() - begin;
+            return chains.chooseEdge(root);
+        }
+
+        nodeCount.set(1);
+        childStart.set(0, UNEXPANDED);
+        visits.set(0, 0);
+        rewards.set(0, 0);
+        stop.set(false);
+        deadline = begin + budgetNanos;
+
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(new SplittableRandom(seed + i * 0x9E3779B97F4A7C15L));
+            running[i] = new Thread(workers[i], "mcts-" + i);
+            running[i].start();
+        }
+        seed += threads;
+        try {
+            for (Thread thread : running) {
+                thread.join();
+            }
+        }
+        catch (InterruptedException e) {
+            stop.set(true);
+            Thread.currentThread().interrupt();
+        }
+        for (Worker worker : workers) {
+            playouts += worker.playouts;
+        }
+        elapsedNanos = System.nanoTime() - begin;
+
+        int start = childStart.get(0);
+        if (start < 0) {
+            return firstUndrawn(root); //not even one iteration finished
+        }
+        int best = start;
+        for (int c = start; c < start + childCount[0]; c++) {
+            if (visits.get(c) > visits.get(best)) {
+                best = c;
+            }
+        }
+        int n = visits.get(best);
+        lastWinRate = n == 0 ? 0 : rewards.get(best) / (double) (REWARD_SCALE * n);
+        return nodeMove[best];
+    }
+
+    private static int firstUndrawn(EdgeBitboard board) {
+        for (int e = 0; e < board.getEdgeCount(); e++) {
+            if (!board.isDrawn(e)) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * One search thread, with its own copy of the board and scratch arrays.
+     */
+    private class Worker implements Runnable {
+        private final SplittableRandom random;
+        private final EdgeBitboard board = root.copy();
+        private final int[] free = new int[board.getEdgeCount()];      //undrawn edges of the root in [0, rootFree)
+        private final int[] position = new int[board.getEdgeCount()];  //index of each edge in free
+        private final int rootFree;
+        private final int[] drawn = new int[board.getEdgeCount()];
+        private final int[] pathNodes = new int[board.getEdgeCount() + 1];
+        private final int[] pathMovers = new int[board.getEdgeCount() + 1];
+        private final int[] scores = new int[numTeams];
+        private final double[] reward = new double[numTeams];
+        private final int boxesLeft;
+        private long playouts;
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+            int count = 0;
+            for (int e = 0; e < board.getEdgeCount(); e++) {
+                if (!board.isDrawn(e)) {
+                    position[e] = count;
+                    free[count++] = e;
+                }
+            }
+            rootFree = count;
+            boxesLeft = board.getWidth() * board.getHeight() - board.getCompletedBoxCount();
+        }
+
+        @Override
+        public void run() {
+            while (!stop.get()) {
+                iterate();
+                if ((++playouts & 0xF) == 0 && System.nanoTime() - deadline > 0) {
+                    stop.set(true);
+                }
+            }
+        }
+
+        private void iterate() {
+            int freeCount = rootFree;
+            int drawnCount = 0;
+            System.arraycopy(rootScores, 0, scores, 0, numTeams);
+            int team = rootTeam;
+            int node = 0;
+            int depth = 0;
+            visits.incrementAndGet(0);
+
+            //selection and expansion
+            while (freeCount > 0) {
+                int start = childStart.get(node);
+                if (start < 0) {
+                    if (start != UNEXPANDED || (node != 0 && visits.get(node) < EXPAND_VISITS)
+                            || !childStart.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+                        break;
+                    }
+                    start = expand(node, freeCount);
+                    if (start < 0) {
+                        break;
+                    }
+                }
+                int child = select(node, start, childCount[node]);
+                visits.incrementAndGet(child); //virtual loss until the reward is added
+                pathNodes[depth] = child;
+                pathMovers[depth++] = team;
+                int edge = nodeMove[child];
+                freeCount = remove(edge, freeCount);
+                drawn[drawnCount++] = edge;
+                int completed = board.draw(edge);
+                scores[team] += completed;
+                team = completed > 0 ? team : (team + 1) % numTeams;
+                node = child;
+            }
+
+            //playout
+            while (freeCount > 0) {
+                int edge = playoutEdge(freeCount);
+                freeCount = remove(edge, freeCount);
+                drawn[drawnCount++] = edge;
+                int completed = board.draw(edge);
+                scores[team] += completed;
+                team = completed > 0 ? team : (team + 1) % numTeams;
+            }
+
+            score();
+            for (int i = 0; i < depth; i++) {
+                rewards.addAndGet(pathNodes[i], (long) (reward[pathMovers[i]] * REWARD_SCALE));
+            }
+            for (int i = drawnCount - 1; i >= 0; i--) {
+                board.clear(drawn[i]);
+            }
+        }
+
+        /**
+         * Adds a child for every undrawn edge, publishes them and returns the first, or marks the node as a
+         * leaf for good and returns -1 if the tree is full.
+         */
+        private int expand(int node, int freeCount) {
+            int start = nodeCount.getAndAdd(freeCount);
+            if (start + freeCount > capacity) {
+                childStart.set(node, EXPANDING); //stays a leaf; nobody else will try again
+                return -1;
+            }
+            for (int i = 0; i < freeCount; i++) {
+                int child = start + i;
+                nodeMove[child] = free[i];
+                childCount[child] = 0;
+                visits.set(child, 0);
+                rewards.set(child, 0);
+                childStart.set(child, UNEXPANDED);
+            }
+            childCount[node] = freeCount;
+            childStart.set(node, start); //the volatile write makes the children visible to other threads
+            return start;
+        }
+
+        /**
+         * UCT: an unvisited child if there is one (from a random offset, so threads spread out), otherwise
+         * the child with the best average reward plus exploration bonus.
+         */
+        private int select(int node, int start, int count) {
+            int offset = random.nextInt(count);
+            double logParent = Math.log(Math.max(1, visits.get(node)));
+            int best = start;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                int child = start + (offset + i) % count;
+                int n = visits.get(child);
+                if (n == 0) {
+                    return child;
+                }
+                double score = rewards.get(child) / (double) (REWARD_SCALE * n) + EXPLORATION * Math.sqrt(logParent / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Takes a box if possible, else gives none away if possible, else draws any edge, picking at random
+         * within each class.
+         */
+        private int playoutEdge(int freeCount) {
+            int offset = random.nextInt(freeCount);
+            int safe = -1;
+            for (int i = 0; i < freeCount; i++) {
+                int edge = free[(offset + i) % freeCount];
+                boolean givesBox = false;
+                for (int k = 0; k < 2; k++) {
+                    int box = board.edgeBox(edge, k);
+                    if (box == -1) {
+                        continue;
+                    }
+                    int sides = board.drawnSideCount(box);
+                    if (sides == 3) {
+                        return edge;
+                    }
+                    givesBox |= sides == 2;
+                }
+                if (!givesBox && safe == -1) {
+                    safe = edge;
+                }
+            }
+            return safe != -1 ? safe : free[offset];
+        }
+
+        /**
+         * Swaps edge to the end of the undrawn part of free and returns the new undrawn count.
+         */
+        private int remove(int edge, int freeCount) {
+            int last = free[freeCount - 1];
+            int index = position[edge];
+            free[index] = last;
+            position[last] = index;
+            free[freeCount - 1] = edge;
+            position[edge] = freeCount - 1;
+            return freeCount - 1;
+        }
+
+        /**
+         * Fills reward with each team's result: a share of the win, split between tied leaders, plus a share
+         * of the boxes that were still open at the root.
+         */
+        private void score() {
+            int top = Integer.MIN_VALUE;
+            int leaders = 0;
+            for (int t = 0; t < numTeams; t++) {
+                if (scores[t] > top) {
+                    top = scores[t];
+                    leaders = 1;
+                }
+                else if (scores[t] == top) {
+                    leaders++;
+                }
+            }
+            for (int t = 0; t < numTeams; t++) {
+                double win = scores[t] == top ? 1.0 / leaders : 0;
+                double boxes = boxesLeft == 0 ? 0 : (scores[t] - rootScores[t]) / (double) boxesLeft;
+                reward[t] = WIN_WEIGHT * win + (1 - WIN_WEIGHT) * boxes;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int teams = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long millis = args.length > 3 ? Long.parseLong(args[3]) : 2000;
+        int maxThreads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        EdgeBitboard board = new EdgeBitboard(width, height);
+        System.out.println(String.format("%dx%d board, %d teams, %d ms per search", width, height, teams, millis));
+        System.out.println("Threads  Playouts/s  Speedup  Tree nodes  Edge");
+        double base = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            DotsAndBoxesMCTS mcts = new DotsAndBoxesMCTS(teams, millis, threads);
+            int edge = mcts.chooseEdge(board, 0);
+            double rate = mcts.getPlayoutsPerSecond();
+            if (threads == 1) {
+                base = rate;
+            }
+            System.out.println(String.format("%7d  %10.0f  %7.2f  %10d  %4d", threads, rate, rate / base, mcts.getTreeSize(), edge));
+        }
+    }
+}
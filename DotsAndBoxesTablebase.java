@@ -0,0 +1,280 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Exact values of every position of a small two-team Dots & Boxes board (at most 24 edges, e.g. 3x3, 2x4,
+ * 1x7), computed by retrograde analysis. A position is its drawn-edge mask, the same bits as
+ * EdgeBitboard's first word, and its value is the number of boxes the team to move will still win minus the
+ * number the other team will still win with perfect play. The full board is worth 0; every other position is
+ * worth its best edge, which keeps the turn (and adds the completed boxes) or passes it (and negates the value).
+ *
+ * Drawing an edge only adds a bit, so all positions with k edges drawn depend only on positions with k + 1.
+ * The build goes from the full board down one popcount level at a time, and each level is split between all
+ * cores with fork-join. The table holds one signed byte per position and is saved after a short header
+ * (magic, width, height); loading memory-maps the file, so lookups are O(1) with nothing read up front.
+ *
+ * Usage: java DotsAndBoxesTablebase width height [threads] writes tablebase/dab_WIDTHxHEIGHT.bin.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class DotsAndBoxesTablebase {
+
+    public static final int MAX_EDGES = 24;
+
+    private static final int MAGIC = 0x44414231; //"DAB1"
+    private static final int HEADER_BYTES = 12;
+    private static final int CHUNK = 1 << 14;
+
+    private final int width;
+    private final int height;
+    private final int edgeCount;
+    private final ByteBuffer values;
+    private final int[][] edgeBoxMasks; //for every edge, the edge masks of the boxes it borders
+
+    private DotsAndBoxesTablebase(int width, int height, ByteBuffer values) {
+        this.width = width;
+        this.height = height;
+        this.values = values;
+        EdgeBitboard board = new EdgeBitboard(width, height);
+        this.edgeCount = board.getEdgeCount();
+        this.edgeBoxMasks = boxMasks(board);
+    }
+
+    /**
+     * Returns whether a board of this size is small enough for a tablebase.
+     */
+    public static boolean fits(int width, int height) {
+        return width * (height + 1) + height * (width + 1) <= MAX_EDGES;
+    }
+
+    public static File defaultFile(int width, int height) {
+        return new File("tablebase", "dab_" + width + "x" + height + ".bin");
+    }
+
+    /**
+     * Loads the default file for a board size, or returns null if there is none.
+     */
+    public static DotsAndBoxesTablebase loadIfPresent(int width, int height) {
+        File file = defaultFile(width, height);
+        if (!fits(width, height) || !file.isFile()) {
+            return null;
+        }
+        try {
+            DotsAndBoxesTablebase table = load(file);
+            return table.width == width && table.height == height ? table : null;
+        }
+        catch (IOException e) {
+            System.out.println("Could not load tablebase " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static DotsAndBoxesTablebase load(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.limit() < HEADER_BYTES || map.getInt() != MAGIC) {
+                throw new IOException("Not a Dots & Boxes tablebase file");
+            }
+            int width = map.getInt();
+            int height = map.getInt();
+            if (!fits(width, height)) {
+                throw new IOException("Tablebase board is too large");
+            }
+            EdgeBitboard board = new EdgeBitboard(width, height);
+            if (map.remaining() != 1L << board.getEdgeCount()) {
+                throw new IOException("Tablebase file is truncated");
+            }
+            return new DotsAndBoxesTablebase(width, height, map.slice());
+        }
+    }
+
+    /**
+     * Computes the table for a board size on the given number of threads.
+     */
+    public static DotsAndBoxesTablebase build(int width, int height, int threads) {
+        if (!fits(width, height)) {
+            throw new IllegalArgumentException("A tablebase holds boards of at most " + MAX_EDGES + " edges");
+        }
+        EdgeBitboard board = new EdgeBitboard(width, height);
+        int edges = board.getEdgeCount();
+        byte[] table = new byte[1 << edges];
+        int[][] boxMasks = boxMasks(board);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int level = edges - 1; level >= 0; level--) { //the full board stays 0
+                pool.invoke(new LevelTask(table, boxMasks, edges, level, 0, table.length));
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        return new DotsAndBoxesTablebase(width, height, ByteBuffer.wrap(table));
+    }
+
+    public void save(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(width);
+            out.writeInt(height);
+            for (int mask = 0; mask < values.limit(); mask++) {
+                out.writeByte(values.get(mask));
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the net score still to come for the team to move: its boxes minus the other team's.
+     */
+    public int value(EdgeBitboard board) {
+        return values.get((int) board.getWords()[0]);
+    }
+
+    /**
+     * Returns the edge with the best value for the team to move, or -1 if every edge is drawn.
+     */
+    public int chooseEdge(EdgeBitboard board) {
+        int mask = (int) board.getWords()[0];
+        int best = Integer.MIN_VALUE;
+        int bestEdge = -1;
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if ((mask & (1 << edge)) != 0) {
+                continue;
+            }
+            int next = mask | 1 << edge;
+            int completed = completed(edgeBoxMasks[edge], next);
+            int value = completed > 0 ? completed + values.get(next) : -values.get(next);
+            if (value > best) {
+                best = value;
+                bestEdge = edge;
+            }
+        }
+        return bestEdge;
+    }
+
+    private static int[][] boxMasks(EdgeBitboard board) {
+        int[][] masks = new int[board.getEdgeCount()][];
+        for (int edge = 0; edge < masks.length; edge++) {
+            int count = 0;
+            int[] boxes = new int[2];
+            for (int k = 0; k < 2; k++) {
+                int box = board.edgeBox(edge, k);
+                if (box == -1) {
+                    continue;
+                }
+                int row = box / board.getWidth();
+                int col = box % board.getWidth();
+                for (int side = 0; side < 4; side++) {
+                    boxes[count] |= 1 << board.boxEdge(row, col, side);
+                }
+                count++;
+            }
+            masks[edge] = Arrays.copyOf(boxes, count);
+        }
+        return masks;
+    }
+
+    /**
+     * Counts the boxes next to an edge that are complete in mask, which already includes the edge.
+     */
+    private static int completed(int[] boxMasks, int mask) {
+        int completed = 0;
+        for (int boxMask : boxMasks) {
+            if ((mask & boxMask) == boxMask) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Fills in every position with level edges drawn in a range of masks, splitting the range between workers.
+     */
+    private static class LevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final byte[] table;
+        private final int[][] boxMasks;
+        private final int edges;
+        private final int level;
+        private final int from;
+        private final int to;
+
+        LevelTask(byte[] table, int[][] boxMasks, int edges, int level, int from, int to) {
+            this.table = table;
+            this.boxMasks = boxMasks;
+            this.edges = edges;
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LevelTask(table, boxMasks, edges, level, from, middle),
+                        new LevelTask(table, boxMasks, edges, level, middle, to));
+                return;
+            }
+            int full = (1 << edges) - 1;
+            for (int mask = from; mask < to; mask++) {
+                if (Integer.bitCount(mask) != level) {
+                    continue;
+                }
+                int best = Integer.MIN_VALUE;
+                for (int open = full & ~mask; open != 0; open &= open - 1) {
+                    int edge = Integer.numberOfTrailingZeros(open);
+                    int next = mask | 1 << edge;
+                    int completed = completed(boxMasks[edge], next);
+                    int value = completed > 0 ? completed + table[next] : -table[next];
+                    if (value > best) {
+                        best = value;
+                    }
+                }
+                table[mask] = (byte) best;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java DotsAndBoxesTablebase width height [threads]");
+            return;
+        }
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        long begin = System.nanoTime();
+        DotsAndBoxesTablebase table = build(width, height, threads);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        File file = defaultFile(width, height);
+        table.save(file);
+        EdgeBitboard empty = new EdgeBitboard(width, height);
+        System.out.println(String.format("Solved all %d positions of the %dx%d board in %.1f s on %d threads; "
+                + "the first player wins by %d. Saved to %s", 1L << table.edgeCount, width, height, seconds,
+                threads, table.value(empty), file));
+    }
+}
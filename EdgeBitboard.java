@@ -0,0 +1,271 @@
+import java.util.Arrays;
+
+/**
+ * Stores the drawn/undrawn state of every edge of a grid of boxes as bits in a long array.
+ * Every edge has an id: horizontal edges come first, row by row ((height + 1) rows of width edges),
+ * followed by the vertical edges (height rows of width + 1 edges). The four sides of a box are numbered
+ * clockwise from the top (UP, RIGHT, DOWN, LEFT) and box queries return 4-bit masks over those sides,
+ * so callers can test or iterate edges with bit operations instead of building lists.
+ * The number of drawn sides of every box, the number of completed boxes and the number of boxes with at least
+ * two drawn sides are kept up to date as edges are drawn or cleared, so completion checks never rescan the grid.
+ * So is a Zobrist key of the drawn edges (see Zobrist), which identifies the edge state in one long.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class EdgeBitboard {
+
+    public static final int UP = 0;
+    public static final int RIGHT = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 3;
+
+    public static final int UP_MASK = 1 << UP;
+    public static final int RIGHT_MASK = 1 << RIGHT;
+    public static final int DOWN_MASK = 1 << DOWN;
+    public static final int LEFT_MASK = 1 << LEFT;
+    public static final int ALL_SIDES = UP_MASK | RIGHT_MASK | DOWN_MASK | LEFT_MASK;
+
+    private final int width;
+    private final int height;
+    private final int numHorizontal;
+    private final int numEdges;
+
+    private final long[] words;
+
+    private final byte[] boxDrawnCount; //how many sides of each box are drawn
+    private int completedBoxes;
+    private int narrowBoxes; //boxes with at least two sides drawn
+    private long key;
+
+    private final int[] boxEdges;  //edge id of each side of each box, at [box * 4 + side]
+    private final int[] edgeBoxes; //the (up to) two boxes touching each edge, at [edge * 2], -1 if off the board
+    private final long[] edgeKeys;
+
+    public EdgeBitboard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.numHorizontal = (height + 1) * width;
+        this.numEdges = numHorizontal + height * (width + 1);
+        this.words = new long[(numEdges + 63) >>> 6];
+        this.boxDrawnCount = new byte[width * height];
+
+        this.boxEdges = new int[width * height * 4];
+        this.edgeBoxes = new int[numEdges * 2];
+        Arrays.fill(edgeBoxes, -1);
+        this.edgeKeys = Zobrist.keys(Zobrist.EDGES, numEdges);
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int box = row * width + col;
+                boxEdges[box * 4 + UP] = horizontalEdge(row, col);
+                boxEdges[box * 4 + RIGHT] = verticalEdge(row, col + 1);
+                boxEdges[box * 4 + DOWN] = horizontalEdge(row + 1, col);
+                boxEdges[box * 4 + LEFT] = verticalEdge(row, col);
+            }
+        }
+        for (int box = 0; box < width * height; box++) {
+            for (int side = 0; side < 4; side++) {
+                int edge = boxEdges[box * 4 + side];
+                int slot = edgeBoxes[edge * 2] == -1 ? 0 : 1;
+                edgeBoxes[edge * 2 + slot] = box;
+            }
+        }
+    }
+
+    private EdgeBitboard(EdgeBitboard other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.numHorizontal = other.numHorizontal;
+        this.numEdges = other.numEdges;
+        this.words = other.words.clone();
+        this.boxDrawnCount = other.boxDrawnCount.clone();
+        this.completedBoxes = other.completedBoxes;
+        this.narrowBoxes = other.narrowBoxes;
+        this.key = other.key;
+        this.boxEdges = other.boxEdges;
+        this.edgeBoxes = other.edgeBoxes;
+        this.edgeKeys = other.edgeKeys;
+    }
+
+    /**
+     * Returns an independent copy of the edge state. The geometry tables are shared since they never change.
+     */
+    public EdgeBitboard copy() {
+        return new EdgeBitboard(this);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getEdgeCount() {
+        return numEdges;
+    }
+
+    public int horizontalEdge(int row, int col) {
+        return row * width + col;
+    }
+
+    public int verticalEdge(int row, int col) {
+        return numHorizontal + row * (width + 1) + col;
+    }
+
+    public boolean isHorizontal(int edge) {
+        return edge < numHorizontal;
+    }
+
+    public int boxEdge(int row, int col, int side) {
+        return boxEdges[(row * width + col) * 4 + side];
+    }
+
+    /**
+     * Returns one of the (at most two) boxes an edge borders as a row-major index, or -1.
+     */
+    public int edgeBox(int edge, int k) {
+        return edgeBoxes[edge * 2 + k];
+    }
+
+    public boolean isDrawn(int edge) {
+        return (words[edge >>> 6] & (1L << edge)) != 0;
+    }
+
+    /**
+     * Draws an edge and returns how many boxes (0, 1 or 2) it completed. Drawing an edge that is already drawn
+     * changes nothing and returns 0.
+     */
+    public int draw(int edge) {
+        long bit = 1L << edge;
+        int w = edge >>> 6;
+        if ((words[w] & bit) != 0) {
+            return 0;
+        }
+        words[w] |= bit;
+        key ^= edgeKeys[edge];
+
+        int completed = 0;
+        for (int k = 0; k < 2; k++) {
+            int box = edgeBoxes[edge * 2 + k];
+            if (box == -1) {
+                continue;
+            }
+            int drawn = ++boxDrawnCount[box];
+            if (drawn == 2) {
+                narrowBoxes++;
+            }
+            else if (drawn == 4) {
+                completed++;
+            }
+        }
+        completedBoxes += completed;
+        return completed;
+    }
+
+    public void clear(int edge) {
+        long bit = 1L << edge;
+        int w = edge >>> 6;
+        if ((words[w] & bit) == 0) {
+            return;
+        }
+        words[w] &= ~bit;
+        key ^= edgeKeys[edge];
+
+        for (int k = 0; k < 2; k++) {
+            int box = edgeBoxes[edge * 2 + k];
+            if (box == -1) {
+                continue;
+            }
+            int drawn = boxDrawnCount[box]--;
+            if (drawn == 4) {
+                completedBoxes--;
+            }
+            else if (drawn == 2) {
+                narrowBoxes--;
+            }
+        }
+    }
+
+    /**
+     * Returns how many sides of a box (given as a row-major index) are drawn.
+     */
+    public int drawnSideCount(int box) {
+        return boxDrawnCount[box];
+    }
+
+    public int getCompletedBoxCount() {
+        return completedBoxes;
+    }
+
+    public boolean allBoxesCompleted() {
+        return completedBoxes == width * height;
+    }
+
+    /**
+     * Returns whether every box has at most two undrawn sides, i.e. the board has fallen apart into chains and
+     * loops (see ChainAnalyzer).
+     */
+    public boolean allBoxesNarrow() {
+        return narrowBoxes == width * height;
+    }
+
+    /**
+     * Returns the sides of box (row, col) that are drawn, as a mask of UP_MASK, RIGHT_MASK, DOWN_MASK and LEFT_MASK.
+     */
+    public int drawnMask(int row, int col) {
+        int base = (row * width + col) * 4;
+        int mask = 0;
+        for (int side = 0; side < 4; side++) {
+            int edge = boxEdges[base + side];
+            if ((words[edge >>> 6] & (1L << edge)) != 0) {
+                mask |= 1 << side;
+            }
+        }
+        return mask;
+    }
+
+    public int undrawnMask(int row, int col) {
+        return ~drawnMask(row, col) & ALL_SIDES;
+    }
+
+    /**
+     * Returns the Zobrist key of the drawn edges; the board with no edges drawn has key 0.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the backing words (not a copy); bit (id & 63) of word (id >>> 6) is set when edge id is drawn.
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+        Arrays.fill(boxDrawnCount, (byte) 0);
+        completedBoxes = 0;
+        narrowBoxes = 0;
+        key = 0;
+    }
+
+    /**
+     * Returns the side number of the n-th (0-based) set bit of a side mask, or -1 if the mask has fewer bits.
+     */
+    public static int nthSide(int sideMask, int n) {
+        for (int side = 0; side < 4; side++) {
+            if ((sideMask & (1 << side)) != 0) {
+                if (n == 0) {
+                    return side;
+                }
+                n--;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Suggests the next tile to slide in a sliding puzzle. A hint comes from an optimal solution whenever the
+ * solver finds one within the first part of the time budget; the whole solution is then cached for every
+ * position along it, so a player who keeps following the hints gets each later hint from the cache without
+ * searching again. Harder positions use the rest of the budget for a weighted search, whose (possibly longer)
+ * solution is cached the same way, so following the hints still solves the puzzle. If that also runs out,
+ * the hint falls back to the move that most lowers the heuristic estimate.
+ *
+ * The cache is a bounded LRU map keyed on the position packed into a long (4 bits per cell) for boards of up
+ * to 16 cells. Larger boards use a 64-bit hash of the cells as the key and keep the cells in the entry to
+ * rule out collisions.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HintService {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    private static final int FALLBACK_WEIGHT = 3;
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final long budgetNanos;
+    private final SlidingPuzzleSolver solver;
+    private final Map<Long, CachedPath> cache;
+
+    private final int[] scratch;
+
+    public HintService(int width, int height) {
+        this(width, height, DEFAULT_CAPACITY, DEFAULT_BUDGET_MILLIS);
+    }
+
+    public HintService(int width, int height, final int capacity, long budgetMillis) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.solver = new SlidingPuzzleSolver(width, height);
+        this.solver.setPatternDatabase(PatternDatabase.loadIfPresent(width, height));
+        this.cache = new LinkedHashMap<Long, CachedPath>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPath> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.scratch = new int[size];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns a hint for the position, or null if the position is already solved or cannot be solved.
+     */
+    public Hint getHint(int[] cells) {
+        long key = PuzzleGenerator.positionKey(cells);
+        CachedPath cached = cache.get(key);
+        if (cached != null && (cached.cells == null || Arrays.equals(cached.cells, cells))) {
+            return cached.toHint();
+        }
+
+        long start = System.nanoTime();
+        solver.setDeadline(start + budgetNanos / 2);
+        int[] solution = solver.solve(cells);
+        boolean optimal = true;
+        if (solution == null && solver.hasTimedOut()) {
+            solver.setWeight(FALLBACK_WEIGHT);
+            solver.setDeadline(start + budgetNanos);
+            solution = solver.solve(cells);
+            solver.setWeight(1);
+            optimal = false;
+        }
+        solver.setDeadline(0);
+
+        if (solution != null) {
+            if (solution.length == 0) {
+                return null;
+            }
+            cacheAlongPath(cells, solution, optimal);
+            return new Hint(solution[0], optimal ? solution.length : -1, optimal);
+        }
+        if (!solver.hasTimedOut()) {
+            return null;
+        }
+        return greedyHint(cells);
+    }
+
+    /**
+     * Stores the solution for the start position and for each position reached by following it.
+     */
+    private void cacheAlongPath(int[] cells, int[] solution, boolean optimal) {
+        System.arraycopy(cells, 0, scratch, 0, size);
+        int blank = indexOf(scratch, 0);
+        for (int step = 0; step < solution.length; step++) {
+            cache.put(PuzzleGenerator.positionKey(scratch), new CachedPath(solution, step, optimal, size > BidirectionalPuzzleSolver.MAX_CELLS ? scratch.clone() : null));
+            int from = indexOf(scratch, solution[step]);
+            scratch[blank] = solution[step];
+            scratch[from] = 0;
+            blank = from;
+        }
+    }
+
+    /**
+     * Picks the tile whose move gives the lowest heuristic estimate.
+     */
+    private Hint greedyHint(int[] cells) {
+        System.arraycopy(cells, 0, scratch, 0, size);
+        int blank = indexOf(scratch, 0);
+        int bestTile = -1;
+        int bestEstimate = Integer.MAX_VALUE;
+        for (int cell = 0; cell < size; cell++) {
+            int distance = Math.abs(cell / width - blank / width) + Math.abs(cell % width - blank % width);
+            if (distance != 1) {
+                continue;
+            }
+            int tile = scratch[cell];
+            scratch[blank] = tile;
+            scratch[cell] = 0;
+            int estimate = solver.estimate(scratch);
+            scratch[cell] = tile;
+            scratch[blank] = 0;
+            if (estimate < bestEstimate) {
+                bestEstimate = estimate;
+                bestTile = tile;
+            }
+        }
+        return new Hint(bestTile, -1, false);
+    }
+
+    private static int indexOf(int[] cells, int value) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A suggested move. movesLeft is the number of moves still needed when the hint is optimal, otherwise -1.
+     */
+    public static class Hint {
+        private final int tile;
+        private final int movesLeft;
+        private final boolean optimal;
+
+        Hint(int tile, int movesLeft, boolean optimal) {
+            this.tile = tile;
+            this.movesLeft = movesLeft;
+            this.optimal = optimal;
+        }
+
+        public int getTile() {
+            return tile;
+        }
+
+        public int getMovesLeft() {
+            return movesLeft;
+        }
+
+        public boolean isOptimal() {
+            return optimal;
+        }
+    }
+
+    /**
+     * A solution shared by all positions along it, and how far along it this position is.
+     */
+    private static class CachedPath {
+        final int[] solution;
+        final int step;
+        final boolean optimal;
+        final int[] cells; //only kept when the key is a hash
+
+        CachedPath(int[] solution, int step, boolean optimal, int[] cells) {
+            this.solution = solution;
+            this.step = step;
+            this.optimal = optimal;
+            this.cells = cells;
+        }
+
+        Hint toHint() {
+            return new Hint(solution[step], optimal ? solution.length - step : -1, optimal);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from long keys to byte values, stored in two primitive arrays with linear
+ * probing, so puzzle searches can record millions of packed states without boxing. The key 0 marks an empty
+ * slot and cannot be stored; a packed puzzle position is never 0 because its tiles are all different.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LongStateTable {
+
+    private long[] keys;
+    private byte[] values;
+    private int mask;
+    private int count;
+
+    public LongStateTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new byte[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(long key) {
+        return keys[find(key)] != 0;
+    }
+
+    /**
+     * Returns the value stored for key, or -1 if the key is not in the table.
+     */
+    public int get(long key) {
+        int slot = find(key);
+        return keys[slot] == 0 ? -1 : values[slot] & 0xFF;
+    }
+
+    /**
+     * Stores key with its value unless it is already present. Returns true if the key was added.
+     */
+    public boolean putIfAbsent(long key, int value) {
+        int slot = find(key);
+        if (keys[slot] != 0) {
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = (byte) value;
+        if (++count * 2 > keys.length) {
+            grow();
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        count = 0;
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new byte[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -2,9 +2,34 @@
  * The Main class serves as the entry point for the application. It creates an instance of ConsoleController
  * and invokes its welcomeMessage method. This setup is typically used to initialize and start the application,
  * demonstrating a basic use case of handling user interactions through a console interface.
+ * Passing --diff turns on differential board rendering, which only redraws the parts of the board that changed.
+ * Passing --ai-millis followed by a number sets how long computer players may think per move.
  */
 public class Main {
     public static void main(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--diff")) {
+                BoardRenderer.setDifferentialByDefault(true);
+            }
+            else if (args[i].equals("--ai-millis") && i + 1 < args.length) {
+                long millis;
+                try {
+                    millis = Long.parseLong(args[++i]);
+                }
+                catch (NumberFormatException e) {
+                    millis = 0;
+                }
+                if (millis <= 0) {
+                    //keep the default thinking time rather than refusing to start
+                    System.out.println("Usage: java Main [--diff] [--ai-millis milliseconds]");
+                    System.out.println("'" + args[i] + "' is not a positive number of milliseconds, using the default.");
+                    continue;
+                }
+                DotsAndBoxesAI.setDefaultBudgetMillis(millis);
+                DotsAndBoxesMCTS.setDefaultBudgetMillis(millis);
+                QuoridorAI.setDefaultBudgetMillis(millis);
+            }
+        }
         ConsoleController.welcomeMessage();
     }
 }
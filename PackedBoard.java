@@ -0,0 +1,138 @@
+/**
+ * A Board whose cell values are stored in a single row-major int array instead of a grid of Tile and Piece
+ * objects. Cell (row, col) lives at index row * width + col, and a value of EMPTY marks the blank cell.
+ * The Tile based API of Board is still supported through lightweight tile views that read and write the
+ * backing array, so existing callers keep working while games that care about speed use the index based
+ * accessors directly.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PackedBoard extends Board {
+
+    public static final int EMPTY = 0;
+
+    protected final int[] cells;
+
+    private CellTile[] tileViews; //created on first use, one view per cell so tile identity is stable
+
+    public PackedBoard(int width, int height) {
+        super(width, height, false);
+        cells = new int[width * height];
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int indexOf(int row, int col) {
+        return row * getWidth() + col;
+    }
+
+    public int rowOf(int index) {
+        return index / getWidth();
+    }
+
+    public int colOf(int index) {
+        return index % getWidth();
+    }
+
+    public int getCell(int index) {
+        return cells[index];
+    }
+
+    public int getCell(int row, int col) {
+        return cells[row * getWidth() + col];
+    }
+
+    public void setCell(int index, int value) {
+        cells[index] = value;
+    }
+
+    public void swapCells(int i, int j) {
+        int tmp = cells[i];
+        cells[i] = cells[j];
+        cells[j] = tmp;
+    }
+
+    /**
+     * Returns the backing array itself (not a copy), in row-major order.
+     */
+    public int[] getCells() {
+        return cells;
+    }
+
+    @Override
+    public Tile getTile(int row, int col) {
+        return views()[indexOf(row, col)];
+    }
+
+    @Override
+    public int[] getTileCoords(Tile t) {
+        if (t instanceof CellTile && ((CellTile) t).board == this) {
+            int index = ((CellTile) t).index;
+            return new int[]{rowOf(index), colOf(index)};
+        }
+        throw new RuntimeException("Tile does not exist on board");
+    }
+
+    /**
+     * Returns the tile views in row-major order. The array is shared and its tiles read through to the board,
+     * so it always reflects the current state without copying.
+     */
+    @Override
+    public Tile[] flattenBoard() {
+        return views();
+    }
+
+    @Override
+    protected void numberBoardTiles() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i + 1;
+        }
+    }
+
+    private CellTile[] views() {
+        if (tileViews == null) {
+            tileViews = new CellTile[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                tileViews[i] = new CellTile(this, i);
+            }
+        }
+        return tileViews;
+    }
+
+    /**
+     * Tile view over one cell of a PackedBoard. Pieces are created on demand from the stored value.
+     */
+    private static class CellTile extends Tile {
+        private final PackedBoard board;
+        private final int index;
+
+        CellTile(PackedBoard board, int index) {
+            super(null);
+            this.board = board;
+            this.index = index;
+        }
+
+        @Override
+        public Piece<?> getPiece() {
+            int value = board.cells[index];
+            if (value == EMPTY) {
+                return new Piece<Character>(' ');
+            }
+            return new Piece<Integer>(value);
+        }
+
+        @Override
+        public void setPiece(Piece<?> p) {
+            if (p != null && p.getType() instanceof Integer) {
+                board.cells[index] = (Integer) p.getType();
+            }
+            else {
+                board.cells[index] = EMPTY;
+            }
+        }
+    }
+}
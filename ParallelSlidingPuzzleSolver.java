@@ -0,0 +1,281 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-threaded IDA* for sliding puzzles. The first few levels of the search tree are expanded breadth first
+ * into a frontier of work units (many more units than threads, so uneven subtrees balance out), and each
+ * iteration runs every unit as a fork-join task under the same cost bound. Idle workers steal the remaining
+ * halves of other workers' unit ranges. The workers share the bound, a found flag that stops all of them as
+ * soon as one finds a solution, and the smallest f above the bound, which becomes the next iteration's bound.
+ *
+ * Every worker thread searches with its own SlidingPuzzleSolver, so the per-node work is the same as the
+ * single-threaded solver and solutions are still optimal.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ParallelSlidingPuzzleSolver {
+
+    private static final int UNITS_PER_THREAD = 64;
+    private static final int MAX_FRONTIER_DEPTH = 24;
+
+    private final int width;
+    private final int height;
+    private final int threads;
+    private final ForkJoinPool pool;
+    private PatternDatabase patternDatabase;
+
+    private final ThreadLocal<SlidingPuzzleSolver> workers;
+
+    private final LongAdder nodes = new LongAdder();
+    private long elapsedNanos;
+
+    /**
+     * Creates a solver that uses every available core.
+     */
+    public ParallelSlidingPuzzleSolver(int width, int height) {
+        this(width, height, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a solver that runs at most the given number of threads.
+     */
+    public ParallelSlidingPuzzleSolver(int width, int height, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed");
+        }
+        this.width = width;
+        this.height = height;
+        this.threads = threads;
+        this.pool = new ForkJoinPool(threads);
+        this.workers = ThreadLocal.withInitial(() -> {
+            SlidingPuzzleSolver solver = new SlidingPuzzleSolver(this.width, this.height);
+            solver.setPatternDatabase(patternDatabase);
+            return solver;
+        });
+    }
+
+    /**
+     * Uses a pattern database in every worker; must be called before the first solve.
+     */
+    public void setPatternDatabase(PatternDatabase pdb) {
+        patternDatabase = pdb;
+    }
+
+    public int getThreadCount() {
+        return threads;
+    }
+
+    public long getNodesExpanded() {
+        return nodes.sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getNodesExpanded() * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Stops the worker threads. The solver cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Solves the puzzle and returns the tiles to slide into the blank, in order, or null if the position
+     * cannot be solved. Same layout and result as SlidingPuzzleSolver.solve.
+     */
+    public int[] solve(int[] start) {
+        long begin = System.nanoTime();
+        nodes.reset();
+        try {
+            if (!SlidingPuzzleSolver.isSolvable(start, width, height)) {
+                return null;
+            }
+            List<Unit> frontier = new ArrayList<>();
+            int[] solution = expandFrontier(start, frontier);
+            if (solution != null) {
+                return solution;
+            }
+
+            SlidingPuzzleSolver rootSolver = new SlidingPuzzleSolver(width, height);
+            rootSolver.setPatternDatabase(patternDatabase);
+            int bound = rootSolver.estimate(start);
+            Unit[] units = frontier.toArray(new Unit[0]);
+            while (true) {
+                Iteration iteration = new Iteration(units, bound);
+                pool.invoke(new UnitRange(iteration, 0, units.length));
+                if (iteration.solution.get() != null) {
+                    return iteration.solution.get();
+                }
+                if (iteration.nextBound.get() == Integer.MAX_VALUE) {
+                    return null;
+                }
+                bound = iteration.nextBound.get();
+            }
+        }
+        finally {
+            elapsedNanos = System.nanoTime() - begin;
+        }
+    }
+
+    /**
+     * Expands the tree breadth first (never undoing the previous move) until there are enough units for the
+     * pool. Returns the moves if the solution is found on the way, since the shallowest one is optimal.
+     */
+    private int[] expandFrontier(int[] start, List<Unit> frontier) {
+        PackedBoard neighborSource = new PackedBoard(width, height);
+        frontier.add(new Unit(start.clone(), blankOf(start), -1, new int[0]));
+        if (frontier.get(0).isSolved()) {
+            return new int[0];
+        }
+        int target = threads == 1 ? 1 : threads * UNITS_PER_THREAD;
+        for (int depth = 0; depth < MAX_FRONTIER_DEPTH && frontier.size() < target; depth++) {
+            List<Unit> next = new ArrayList<>(frontier.size() * 3);
+            for (Unit unit : frontier) {
+                for (int k = 0; k < neighborSource.getNeighborCount(unit.blank); k++) {
+                    int cell = neighborSource.getNeighbor(unit.blank, k);
+                    if (cell == unit.previousBlank) {
+                        continue;
+                    }
+                    Unit child = unit.slide(cell);
+                    if (child.isSolved()) {
+                        return child.moves;
+                    }
+                    next.add(child);
+                }
+            }
+            frontier.clear();
+            frontier.addAll(next);
+        }
+        return null;
+    }
+
+    private static int blankOf(int[] position) {
+        for (int i = 0; i < position.length; i++) {
+            if (position[i] == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Position has no blank");
+    }
+
+    /**
+     * A position at the top of the tree together with the moves that reached it.
+     */
+    private static class Unit {
+        final int[] position;
+        final int blank;
+        final int previousBlank;
+        final int[] moves;
+
+        Unit(int[] position, int blank, int previousBlank, int[] moves) {
+            this.position = position;
+            this.blank = blank;
+            this.previousBlank = previousBlank;
+            this.moves = moves;
+        }
+
+        Unit slide(int cell) {
+            int[] child = position.clone();
+            int tile = child[cell];
+            child[blank] = tile;
+            child[cell] = 0;
+            int[] childMoves = new int[moves.length + 1];
+            System.arraycopy(moves, 0, childMoves, 0, moves.length);
+            childMoves[moves.length] = tile;
+            return new Unit(child, cell, blank, childMoves);
+        }
+
+        boolean isSolved() {
+            for (int i = 0; i < position.length - 1; i++) {
+                if (position[i] != i + 1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * State shared by all workers during one bound.
+     */
+    private static class Iteration {
+        final Unit[] units;
+        final int bound;
+        final AtomicBoolean found = new AtomicBoolean();
+        final AtomicReference<int[]> solution = new AtomicReference<>();
+        final AtomicInteger nextBound = new AtomicInteger(Integer.MAX_VALUE);
+
+        Iteration(Unit[] units, int bound) {
+            this.units = units;
+            this.bound = bound;
+        }
+
+        void offerNextBound(int f) {
+            int current = nextBound.get();
+            while (f < current && !nextBound.compareAndSet(current, f)) {
+                current = nextBound.get();
+            }
+        }
+    }
+
+    /**
+     * Searches units [from, to), splitting the range in half while it holds more than one unit so that
+     * idle workers can steal the other half.
+     */
+    private class UnitRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Iteration iteration;
+        private final int from;
+        private final int to;
+
+        UnitRange(Iteration iteration, int from, int to) {
+            this.iteration = iteration;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new UnitRange(iteration, from, middle), new UnitRange(iteration, middle, to));
+                return;
+            }
+            if (from == to || iteration.found.get()) {
+                return;
+            }
+            Unit unit = iteration.units[from];
+            SlidingPuzzleSolver solver = workers.get();
+            solver.setCancelFlag(iteration.found);
+            int g = unit.moves.length;
+            int t = solver.searchFrom(unit.position, g, iteration.bound, unit.previousBlank);
+            nodes.add(solver.getNodesExpanded());
+            if (t == -1) {
+                int[] moves = new int[iteration.bound];
+                System.arraycopy(unit.moves, 0, moves, 0, g);
+                for (int d = g; d < iteration.bound; d++) {
+                    moves[d] = solver.getPathMove(d);
+                }
+                if (iteration.solution.compareAndSet(null, moves)) {
+                    iteration.found.set(true);
+                }
+            }
+            else {
+                iteration.offerNextBound(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,457 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Disjoint additive pattern database heuristic for sliding puzzles. The tiles are split into groups and,
+ * for every placement of a group's tiles on the board, the table holds the fewest moves of those tiles
+ * needed to bring them home when all other cells are treated as free. Since every move moves one tile
+ * of one group, the values of the groups can be added and still never overestimate.
+ *
+ * A group's cost always has the same parity as its Manhattan distance, so each entry stores
+ * (cost - manhattan) / 2 in a 4-bit nibble, capped at 15. Tables are built by a level-by-level breadth
+ * first search that scans each level in parallel, saved to one file, and memory-mapped when loaded, so
+ * a game or solver only pays for the build once. Lookups compute the placement's index in place and do
+ * not allocate.
+ *
+ * Usage: java PatternDatabase width height   (writes pdb/pdb_WIDTHxHEIGHT.bin)
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PatternDatabase {
+
+    private static final int MAGIC = 0x50444231; //"PDB1"
+    private static final byte UNSEEN = (byte) 0xFF;
+    private static final int MAX_STORED = 15;
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final int[][] groups;
+    private final ByteBuffer[] tables;
+
+    private final int[] groupOf;      //group of each tile, -1 for the blank
+    private final int[][] placeValue; //placeValue[g][i]: multiplier of the i-th tile's digit in group g's index
+    private final int[] manhattan;    //distance of tile t from cell c at [t * size + c]
+
+    private PatternDatabase(int width, int height, int[][] groups, ByteBuffer[] tables) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.groups = groups;
+        this.tables = tables;
+
+        groupOf = new int[size];
+        groupOf[0] = -1;
+        placeValue = new int[groups.length][];
+        for (int g = 0; g < groups.length; g++) {
+            for (int tile : groups[g]) {
+                groupOf[tile] = g;
+            }
+            placeValue[g] = placeValues(size, groups[g].length);
+        }
+
+        manhattan = new int[size * size];
+        for (int t = 1; t < size; t++) {
+            for (int c = 0; c < size; c++) {
+                manhattan[t * size + c] = Math.abs((t - 1) / width - c / width) + Math.abs((t - 1) % width - c % width);
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getGroupCount() {
+        return groups.length;
+    }
+
+    public int getGroupOf(int tile) {
+        return groupOf[tile];
+    }
+
+    /**
+     * Returns the lower bound for the whole position, given the cell of every tile (positions[t], t >= 1).
+     */
+    public int estimate(int[] positions) {
+        int total = 0;
+        for (int g = 0; g < groups.length; g++) {
+            total += estimateGroup(g, positions);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the lower bound contributed by one group of tiles.
+     */
+    public int estimateGroup(int g, int[] positions) {
+        int[] tiles = groups[g];
+        int[] multipliers = placeValue[g];
+        long used = 0;
+        int index = 0;
+        int distance = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int cell = positions[tiles[i]];
+            int digit = cell - Long.bitCount(used & ((1L << cell) - 1));
+            index += digit * multipliers[i];
+            used |= 1L << cell;
+            distance += manhattan[tiles[i] * size + cell];
+        }
+        int packed = tables[g].get(index >>> 1);
+        int extra = (index & 1) == 0 ? packed & 0x0F : (packed >>> 4) & 0x0F;
+        return distance + 2 * extra;
+    }
+
+    /**
+     * Builds the tables for the given groups of tiles. Every tile from 1 to width * height - 1 must be in
+     * exactly one group.
+     */
+    public static PatternDatabase build(int width, int height, int[][] groups) {
+        int size = width * height;
+        if (size > 64) {
+            throw new IllegalArgumentException("Pattern databases support boards of at most 64 cells");
+        }
+        ByteBuffer[] tables = new ByteBuffer[groups.length];
+        for (int g = 0; g < groups.length; g++) {
+            long entries = countPlacements(size, groups[g].length);
+            if (entries > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Group " + g + " is too large for a " + width + "x" + height + " board");
+            }
+            tables[g] = ByteBuffer.wrap(buildGroup(width, height, groups[g], (int) entries));
+        }
+        return new PatternDatabase(width, height, groups, tables);
+    }
+
+    /**
+     * Returns the groups used for a board size when none are given: the 6-6-3 split for 4x4, and runs of
+     * six tiles (five on boards over 25 cells, to keep each table small) in row-major order otherwise.
+     */
+    public static int[][] defaultGroups(int width, int height) {
+        if (width == 4 && height == 4) {
+            return new int[][]{{1, 5, 6, 9, 10, 13}, {7, 8, 11, 12, 14, 15}, {2, 3, 4}};
+        }
+        int tiles = width * height - 1;
+        int groupSize = width * height > 25 ? 5 : 6;
+        int numGroups = (tiles + groupSize - 1) / groupSize;
+        int[][] groups = new int[numGroups][];
+        for (int g = 0; g < numGroups; g++) {
+            int first = g * groupSize + 1;
+            int last = Math.min(tiles, first + groupSize - 1);
+            groups[g] = new int[last - first + 1];
+            for (int t = first; t <= last; t++) {
+                groups[g][t - first] = t;
+            }
+        }
+        return groups;
+    }
+
+    public static File defaultFile(int width, int height) {
+        return new File("pdb", "pdb_" + width + "x" + height + ".bin");
+    }
+
+    /**
+     * Memory-maps the default file for a board size, or returns null if it has not been generated or holds
+     * another board size.
+     */
+    public static PatternDatabase loadIfPresent(int width, int height) {
+        File file = defaultFile(width, height);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            PatternDatabase database = load(file);
+            return database.width == width && database.height == height ? database : null;
+        }
+        catch (IOException e) {
+            System.out.println("Could not load pattern database " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static PatternDatabase load(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            map.order(ByteOrder.BIG_ENDIAN);
+            if (map.limit() < 16 || map.getInt() != MAGIC) {
+                throw new IOException("Not a pattern database file");
+            }
+            int width = map.getInt();
+            int height = map.getInt();
+            int numGroups = map.getInt();
+            if (width < 1 || height < 1 || width > 64 || height > 64 || width * height > 64 || numGroups < 1
+                    || numGroups >= width * height) {
+                throw new IOException("Pattern database header is damaged");
+            }
+            int size = width * height;
+            int[][] groups = new int[numGroups][];
+            long tableBytes = 0;
+            for (int g = 0; g < numGroups; g++) {
+                int length = readInt(map);
+                if (length < 1 || length >= size || !fitsTable(size, length)) {
+                    throw new IOException("Pattern database header is damaged");
+                }
+                groups[g] = new int[length];
+                for (int i = 0; i < length; i++) {
+                    groups[g][i] = readInt(map);
+                    if (groups[g][i] < 1 || groups[g][i] >= size) {
+                        throw new IOException("Pattern database header is damaged");
+                    }
+                }
+                tableBytes += (countPlacements(size, length) + 1) / 2;
+            }
+            if (map.remaining() != tableBytes) {
+                throw new IOException("Pattern database file is truncated");
+            }
+            ByteBuffer[] tables = new ByteBuffer[numGroups];
+            for (int g = 0; g < numGroups; g++) {
+                int bytes = (int) ((countPlacements(size, groups[g].length) + 1) / 2);
+                ByteBuffer slice = map.duplicate();
+                slice.position(map.position());
+                slice.limit(map.position() + bytes);
+                tables[g] = slice.slice();
+                map.position(map.position() + bytes);
+            }
+            return new PatternDatabase(width, height, groups, tables);
+        }
+    }
+
+    private static int readInt(ByteBuffer map) throws IOException {
+        if (map.remaining() < 4) {
+            throw new IOException("Pattern database file is truncated");
+        }
+        return map.getInt();
+    }
+
+    /**
+     * Writes the tables to a temporary file next to file and renames it into place, so an interrupted save
+     * never leaves a short file under the real name.
+     */
+    public void save(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(groups.length);
+            for (int[] group : groups) {
+                out.writeInt(group.length);
+                for (int tile : group) {
+                    out.writeInt(tile);
+                }
+            }
+            byte[] chunk = new byte[1 << 16];
+            for (ByteBuffer table : tables) {
+                ByteBuffer source = table.duplicate();
+                source.position(0);
+                while (source.hasRemaining()) {
+                    int n = Math.min(chunk.length, source.remaining());
+                    source.get(chunk, 0, n);
+                    out.write(chunk, 0, n);
+                }
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Breadth first search from the goal placement of one group, returning the nibble-packed table.
+     */
+    private static byte[] buildGroup(int width, int height, int[] tiles, int entries) {
+        int size = width * height;
+        int k = tiles.length;
+        int[] multipliers = placeValues(size, k);
+        byte[] distance = new byte[entries];
+        Arrays.fill(distance, UNSEEN);
+
+        int[] goal = new int[k];
+        for (int i = 0; i < k; i++) {
+            goal[i] = tiles[i] - 1;
+        }
+        distance[rank(goal, multipliers)] = 0;
+
+        int chunks = Math.max(1, Math.min(4096, entries / 65536));
+        int chunkSize = ((entries + chunks - 1) / chunks + 1) & ~1; //even, so no byte is shared by two chunks
+        for (int level = 0; level < 254; level++) {
+            final byte current = (byte) level;
+            final byte next = (byte) (level + 1);
+            AtomicLong added = new AtomicLong();
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int[] cells = new int[k];
+                long found = 0;
+                int end = (int) Math.min((long) entries, (long) (chunk + 1) * chunkSize);
+                for (int index = chunk * chunkSize; index < end; index++) {
+                    if (distance[index] != current) {
+                        continue;
+                    }
+                    unrank(index, size, multipliers, cells);
+                    long occupied = 0;
+                    for (int cell : cells) {
+                        occupied |= 1L << cell;
+                    }
+                    for (int i = 0; i < k; i++) {
+                        int cell = cells[i];
+                        int r = cell / width;
+                        int c = cell % width;
+                        for (int d = 0; d < 4; d++) {
+                            int to;
+                            if (d == 0 && r > 0) {
+                                to = cell - width;
+                            }
+                            else if (d == 1 && c < width - 1) {
+                                to = cell + 1;
+                            }
+                            else if (d == 2 && r < height - 1) {
+                                to = cell + width;
+                            }
+                            else if (d == 3 && c > 0) {
+                                to = cell - 1;
+                            }
+                            else {
+                                continue;
+                            }
+                            if ((occupied & (1L << to)) != 0) {
+                                continue;
+                            }
+                            cells[i] = to;
+                            int neighbor = rank(cells, multipliers);
+                            cells[i] = cell;
+                            //two threads may both claim a state here, but they write the same level
+                            if (distance[neighbor] == UNSEEN) {
+                                distance[neighbor] = next;
+                                found++;
+                            }
+                        }
+                    }
+                }
+                added.addAndGet(found);
+            });
+            if (added.get() == 0) {
+                break;
+            }
+        }
+
+        byte[] packed = new byte[(entries + 1) / 2];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] cells = new int[k];
+            int end = (int) Math.min((long) entries, (long) (chunk + 1) * chunkSize);
+            for (int index = chunk * chunkSize; index < end; index++) {
+                unrank(index, size, multipliers, cells);
+                int md = 0;
+                for (int i = 0; i < k; i++) {
+                    int home = tiles[i] - 1;
+                    md += Math.abs(home / width - cells[i] / width) + Math.abs(home % width - cells[i] % width);
+                }
+                int extra = Math.min(MAX_STORED, ((distance[index] & 0xFF) - md) / 2);
+                if ((index & 1) == 0) {
+                    packed[index >>> 1] |= (byte) extra;
+                }
+                else {
+                    packed[index >>> 1] |= (byte) (extra << 4);
+                }
+            }
+        });
+        return packed;
+    }
+
+    /**
+     * Index of a placement of k distinct cells among size cells, in the mixed radix where the i-th digit
+     * counts only the cells not used by earlier tiles.
+     */
+    private static int rank(int[] cells, int[] multipliers) {
+        long used = 0;
+        int index = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            index += (cell - Long.bitCount(used & ((1L << cell) - 1))) * multipliers[i];
+            used |= 1L << cell;
+        }
+        return index;
+    }
+
+    private static void unrank(int index, int size, int[] multipliers, int[] cells) {
+        long used = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int digit = index / multipliers[i];
+            index -= digit * multipliers[i];
+            int cell = -1;
+            while (digit >= 0) {
+                cell++;
+                if ((used & (1L << cell)) == 0) {
+                    digit--;
+                }
+            }
+            cells[i] = cell;
+            used |= 1L << cell;
+        }
+    }
+
+    private static int[] placeValues(int size, int k) {
+        int[] multipliers = new int[k];
+        for (int i = 0; i < k; i++) {
+            multipliers[i] = (int) countPlacements(size - i - 1, k - i - 1);
+        }
+        return multipliers;
+    }
+
+    /**
+     * Number of ways to place k distinct tiles on n cells.
+     */
+    /**
+     * Returns whether a group of k tiles on n cells has few enough placements to index a table with an int.
+     */
+    private static boolean fitsTable(int n, int k) {
+        long count = 1;
+        for (int i = 0; i < k; i++) {
+            count *= n - i;
+            if (count > Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long countPlacements(int n, int k) {
+        long count = 1;
+        for (int i = 0; i < k; i++) {
+            count *= n - i;
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java PatternDatabase width height");
+            return;
+        }
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        long begin = System.nanoTime();
+        PatternDatabase pdb = build(width, height, defaultGroups(width, height));
+        File file = defaultFile(width, height);
+        pdb.save(file);
+        System.out.println("Wrote " + file + " (" + file.length() + " bytes) in "
+                + (System.nanoTime() - begin) / 1_000_000 + " ms");
+    }
+}
@@ -12,6 +12,7 @@ public class Player {
 
     private int teamNum;
     private int numWins;
+    private boolean computer; //moves are chosen by the game's AI instead of read from the console
 
     public Player(String name){
         this(name, null);
@@ -60,4 +61,12 @@ public class Player {
     public void setNumWins(int numWins) {
         this.numWins = numWins;
     }
+
+    public boolean isComputer() {
+        return computer;
+    }
+
+    public void setComputer(boolean computer) {
+        this.computer = computer;
+    }
 }
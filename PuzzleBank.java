@@ -0,0 +1,210 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.SplittableRandom;
+
+/**
+ * A file of sliding puzzle positions labeled with their optimal solution length, written by
+ * PuzzleBankBuilder. After a short header (magic, width, height) the file is a stream of fixed-size records:
+ * one byte for the optimal length followed by one byte per cell. Records are appended in whatever order they
+ * are solved, so a build can be stopped at any time and still leaves a readable file.
+ *
+ * Loading memory-maps the file and sorts the record numbers by length (counting sort), after which drawing
+ * a random puzzle from any range of lengths is O(1).
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PuzzleBank {
+
+    private static final int MAGIC = 0x505a4231; //"PZB1"
+    private static final int HEADER_BYTES = 12;
+    private static final int MAX_LENGTH = 255;
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final ByteBuffer records;
+    private final int[] byLength;    //record numbers sorted by optimal length
+    private final int[] lengthStart; //byLength[lengthStart[n] .. lengthStart[n + 1]) have length n
+
+    private PuzzleBank(int width, int height, ByteBuffer records) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.records = records;
+
+        int recordBytes = size + 1;
+        int count = records.limit() / recordBytes;
+        lengthStart = new int[MAX_LENGTH + 2];
+        for (int i = 0; i < count; i++) {
+            lengthStart[(records.get(i * recordBytes) & 0xFF) + 1]++;
+        }
+        for (int n = 1; n < lengthStart.length; n++) {
+            lengthStart[n] += lengthStart[n - 1];
+        }
+        byLength = new int[count];
+        int[] next = lengthStart.clone();
+        for (int i = 0; i < count; i++) {
+            byLength[next[records.get(i * recordBytes) & 0xFF]++] = i;
+        }
+    }
+
+    public static File defaultFile(int width, int height) {
+        return new File("puzzles", "puzzles_" + width + "x" + height + ".bin");
+    }
+
+    /**
+     * Loads the default file for a board size, or returns null if there is none.
+     */
+    public static PuzzleBank loadIfPresent(int width, int height) {
+        File file = defaultFile(width, height);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            PuzzleBank bank = load(file);
+            return bank.width == width && bank.height == height ? bank : null;
+        }
+        catch (IOException e) {
+            System.out.println("Could not load puzzle bank " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static PuzzleBank load(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.limit() < HEADER_BYTES || map.getInt() != MAGIC) {
+                throw new IOException("Not a puzzle bank file");
+            }
+            int width = map.getInt();
+            int height = map.getInt();
+            int recordBytes = width * height + 1;
+            int usable = (map.limit() - HEADER_BYTES) / recordBytes * recordBytes; //ignore a half-written record
+            map.limit(HEADER_BYTES + usable);
+            return new PuzzleBank(width, height, map.slice());
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int size() {
+        return byLength.length;
+    }
+
+    /**
+     * Returns how many puzzles have an optimal solution length from minLength to maxLength.
+     */
+    public int count(int minLength, int maxLength) {
+        if (minLength > maxLength) {
+            return 0;
+        }
+        return lengthStart[clamp(maxLength) + 1] - lengthStart[clamp(minLength)];
+    }
+
+    /**
+     * Returns the longest optimal solution length in the bank, or -1 if it is empty.
+     */
+    public int getMaxLength() {
+        for (int n = MAX_LENGTH; n >= 0; n--) {
+            if (lengthStart[n + 1] > lengthStart[n]) {
+                return n;
+            }
+        }
+        return -1;
+    }
+
+    public int getMinLength() {
+        for (int n = 0; n <= MAX_LENGTH; n++) {
+            if (lengthStart[n + 1] > lengthStart[n]) {
+                return n;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies a random puzzle whose optimal length lies in [minLength, maxLength] into cells and returns that
+     * length, or returns -1 (leaving cells untouched) if the bank has none.
+     */
+    public int draw(int minLength, int maxLength, SplittableRandom random, int[] cells) {
+        int available = count(minLength, maxLength);
+        if (available == 0) {
+            return -1;
+        }
+        int record = byLength[lengthStart[clamp(minLength)] + random.nextInt(available)];
+        int offset = record * (size + 1);
+        for (int i = 0; i < size; i++) {
+            cells[i] = records.get(offset + 1 + i);
+        }
+        return records.get(offset) & 0xFF;
+    }
+
+    private static int clamp(int length) {
+        return Math.max(0, Math.min(MAX_LENGTH, length));
+    }
+
+    /**
+     * Appends labeled puzzles to a bank file, writing the header first if the file is new.
+     */
+    public static class Writer implements AutoCloseable {
+        private final DataOutputStream out;
+        private final int size;
+
+        public Writer(File file, int width, int height) throws IOException {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Could not create " + parent);
+            }
+            this.size = width * height;
+            boolean append = file.isFile() && file.length() >= HEADER_BYTES;
+            if (append) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    if (raf.readInt() != MAGIC || raf.readInt() != width || raf.readInt() != height) {
+                        throw new IOException(file + " is not a " + width + "x" + height + " puzzle bank");
+                    }
+                    long records = (raf.length() - HEADER_BYTES) / (size + 1);
+                    raf.setLength(HEADER_BYTES + records * (size + 1)); //drop a half-written record
+                }
+            }
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append), 1 << 16));
+            if (!append) {
+                out.writeInt(MAGIC);
+                out.writeInt(width);
+                out.writeInt(height);
+            }
+        }
+
+        public void write(int[] cells, int optimalLength) throws IOException {
+            if (optimalLength > MAX_LENGTH) {
+                throw new IllegalArgumentException("Solution length " + optimalLength + " does not fit in a record");
+            }
+            out.writeByte(optimalLength);
+            for (int i = 0; i < size; i++) {
+                out.writeByte(cells[i]);
+            }
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Batch mode that fills a PuzzleBank. Most candidate boards are random walks of random length from the solved
+ * board, which fill the short and middle optimal lengths; walks rarely get as far from home as a random
+ * position does, so every third candidate is a uniformly random solvable position from PuzzleGenerator to
+ * fill the long end. Duplicates are skipped. Batches of candidates are solved
+ * optimally on all cores (or the given number of threads) and the results are streamed to the bank file as
+ * each batch finishes. Candidates that take longer than the time limit are skipped. Progress lines report the
+ * throughput, and the final report lists how many puzzles landed in each optimal-length bucket.
+ *
+ * Usage: java PuzzleBankBuilder width height count [threads] [max walk length] [seed] [seconds per puzzle]
+ * (defaults: all cores, 4 * cells, random seed, 5). Puzzles are appended to puzzles/puzzles_WIDTHxHEIGHT.bin.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PuzzleBankBuilder {
+
+    private static final int BATCH_SIZE = 64;
+    private static final int MAX_DUPLICATES_IN_A_ROW = 10000;
+    private static final int UNIFORM_EVERY = 3; //one candidate in this many is a uniform random position
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length < 3) {
+            System.out.println("Usage: java PuzzleBankBuilder width height count [threads] [max walk length] [seed] [seconds per puzzle]");
+            return;
+        }
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        int count = Integer.parseInt(args[2]);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int maxWalk = args.length > 4 ? Integer.parseInt(args[4]) : 4 * width * height;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        long limitNanos = (args.length > 6 ? Long.parseLong(args[6]) : 5) * 1_000_000_000L;
+        int size = width * height;
+
+        PatternDatabase pdb = PatternDatabase.loadIfPresent(width, height);
+        ThreadLocal<SlidingPuzzleSolver> solvers = ThreadLocal.withInitial(() -> {
+            SlidingPuzzleSolver solver = new SlidingPuzzleSolver(width, height);
+            solver.setPatternDatabase(pdb);
+            return solver;
+        });
+
+        PuzzleGenerator generator = new PuzzleGenerator(width, height, seed);
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        LongStateTable seen = new LongStateTable(count * 2);
+        int[] solved = new int[size];
+        generator.randomWalk(solved, 0);
+        seen.putIfAbsent(PuzzleGenerator.positionKey(solved), 1); //walks that come back home are not puzzles
+        long[] buckets = new long[256];
+        int written = 0;
+        int skipped = 0;
+        int duplicates = 0;
+        long begin = System.nanoTime();
+        long lastReport = begin;
+
+        File file = PuzzleBank.defaultFile(width, height);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (PuzzleBank.Writer writer = new PuzzleBank.Writer(file, width, height)) {
+            ExecutorCompletionService<int[][]> done = new ExecutorCompletionService<>(pool);
+            int inFlight = 0;
+            int queued = 0;
+            boolean exhausted = false;
+            while (written < count && (inFlight > 0 || !exhausted)) {
+                //keep every thread busy with a couple of batches while earlier ones are written
+                while (!exhausted && inFlight < threads * 2 && queued < count + skipped + BATCH_SIZE) {
+                    int[][] batch = new int[BATCH_SIZE][];
+                    int filled = 0;
+                    int misses = 0;
+                    while (filled < BATCH_SIZE && misses < MAX_DUPLICATES_IN_A_ROW) {
+                        int[] cells = new int[size];
+                        if (random.nextInt(UNIFORM_EVERY) == 0) {
+                            generator.generate(cells);
+                        }
+                        else {
+                            generator.randomWalk(cells, 1 + random.nextInt(maxWalk));
+                        }
+                        if (seen.putIfAbsent(PuzzleGenerator.positionKey(cells), 1)) {
+                            batch[filled++] = cells;
+                            misses = 0;
+                        }
+                        else {
+                            duplicates++;
+                            misses++;
+                        }
+                    }
+                    exhausted = filled < BATCH_SIZE; //small boards run out of new positions
+                    int[][] candidates = Arrays.copyOf(batch, filled);
+                    done.submit(() -> solveBatch(candidates, solvers.get(), limitNanos));
+                    inFlight++;
+                    queued += filled;
+                }
+
+                int[][] results = done.take().get();
+                inFlight--;
+                for (int[] result : results) {
+                    if (result == null) {
+                        skipped++;
+                        continue;
+                    }
+                    if (written < count) {
+                        int length = result[size];
+                        writer.write(result, length);
+                        buckets[length]++;
+                        written++;
+                    }
+                }
+                writer.flush();
+
+                long now = System.nanoTime();
+                if (now - lastReport > 5_000_000_000L) {
+                    lastReport = now;
+                    System.out.println(String.format("%d/%d puzzles, %.1f puzzles/s", written, count, written * 1e9 / (now - begin)));
+                }
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.println(String.format("Wrote %d %dx%d puzzles to %s in %.1f s (%.1f puzzles/s, %d threads); "
+                + "%d skipped over the time limit, %d duplicate candidates",
+                written, width, height, file, seconds, written / seconds, threads, skipped, duplicates));
+        System.out.println("Optimal length : puzzles");
+        for (int length = 0; length < buckets.length; length++) {
+            if (buckets[length] > 0) {
+                System.out.println(String.format("%14d : %d", length, buckets[length]));
+            }
+        }
+    }
+
+    /**
+     * Solves each board, returning it with its optimal length appended, or null where the limit ran out.
+     */
+    private static int[][] solveBatch(int[][] batch, SlidingPuzzleSolver solver, long limitNanos) {
+        int[][] results = new int[batch.length][];
+        for (int i = 0; i < batch.length; i++) {
+            solver.setDeadline(System.nanoTime() + limitNanos);
+            int[] solution = solver.solve(batch[i]);
+            if (solution != null) {
+                results[i] = Arrays.copyOf(batch[i], batch[i].length + 1);
+                results[i][batch[i].length] = solution.length;
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.SplittableRandom;
+
+/**
+ * Generates sliding puzzle positions. Uniform positions are drawn as a random permutation (Fisher-Yates) and
+ * checked with the inversion-count parity rule, counting inversions with a Fenwick tree in O(n log n). An
+ * unsolvable permutation is made solvable by swapping the first two tiles: that is its own inverse and keeps
+ * the blank in place, so every solvable position is equally likely. Positions can also be restricted to a
+ * band of heuristic distance (Manhattan plus linear conflicts) by rejection, or produced by random walks.
+ *
+ * Positions use the PackedBoard layout: 0 is the blank and tile t belongs at index t - 1. Generating into a
+ * caller-supplied array does not allocate.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PuzzleGenerator {
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final SplittableRandom random; //unsynchronized, unlike java.util.Random
+
+    private final int[] fenwick;
+    private final PackedBoard neighbors;
+    private SlidingPuzzleSolver estimator;
+
+    public PuzzleGenerator(int width, int height) {
+        this(width, height, new SplittableRandom());
+    }
+
+    /**
+     * Creates a generator whose sequence of positions is fixed by the seed.
+     */
+    public PuzzleGenerator(int width, int height, long seed) {
+        this(width, height, new SplittableRandom(seed));
+    }
+
+    private PuzzleGenerator(int width, int height, SplittableRandom random) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.random = random;
+        this.fenwick = new int[size];
+        this.neighbors = new PackedBoard(width, height);
+    }
+
+    /**
+     * Returns a new uniformly random solvable position that is not already solved.
+     */
+    public int[] generate() {
+        int[] cells = new int[size];
+        generate(cells);
+        return cells;
+    }
+
+    /**
+     * Fills cells with a uniformly random solvable position that is not already solved.
+     */
+    public void generate(int[] cells) {
+        do {
+            for (int i = 0; i < size; i++) {
+                cells[i] = i;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = cells[i];
+                cells[i] = cells[j];
+                cells[j] = swap;
+            }
+            if (!isSolvable(cells)) {
+                swapFirstTwoTiles(cells);
+            }
+        }
+        while (isSolved(cells));
+    }
+
+    /**
+     * Fills cells with a uniformly random solvable position whose heuristic distance is within
+     * [minEstimate, maxEstimate]. Returns false (leaving the last position tried in cells) if none was found
+     * within maxAttempts tries.
+     */
+    public boolean generate(int[] cells, int minEstimate, int maxEstimate, int maxAttempts) {
+        if (estimator == null) {
+            estimator = new SlidingPuzzleSolver(width, height);
+        }
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            generate(cells);
+            int estimate = estimator.estimate(cells);
+            if (estimate >= minEstimate && estimate <= maxEstimate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills cells with the position reached from the solved board by sliding steps random tiles, never
+     * undoing the previous move.
+     */
+    public void randomWalk(int[] cells, int steps) {
+        for (int i = 0; i < size - 1; i++) {
+            cells[i] = i + 1;
+        }
+        cells[size - 1] = 0;
+        int blank = size - 1;
+        int previous = -1;
+        for (int s = 0; s < steps; s++) {
+            int cell;
+            do {
+                cell = neighbors.getNeighbor(blank, random.nextInt(neighbors.getNeighborCount(blank)));
+            }
+            while (cell == previous);
+            cells[blank] = cells[cell];
+            cells[cell] = 0;
+            previous = blank;
+            blank = cell;
+        }
+    }
+
+    /**
+     * Checks whether a position can be solved: on odd widths the inversion count must be even, on even widths
+     * the inversion count plus the blank's distance from the bottom row must be even.
+     */
+    public boolean isSolvable(int[] cells) {
+        return SlidingPuzzleSolver.isSolvable(cells, width, height, fenwick);
+    }
+
+    /**
+     * Counts pairs of tiles (ignoring the blank) that appear in the opposite order of their numbers, using a
+     * Fenwick tree of the tiles seen so far.
+     */
+    public int countInversions(int[] cells) {
+        return SlidingPuzzleSolver.countInversions(cells, fenwick);
+    }
+
+    /**
+     * Returns a 64-bit key for a position: the cells packed 4 bits each (exact) for boards of up to 16 cells,
+     * otherwise a hash of the cells.
+     */
+    public static long positionKey(int[] cells) {
+        if (cells.length <= BidirectionalPuzzleSolver.MAX_CELLS) {
+            return BidirectionalPuzzleSolver.pack(cells);
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int cell : cells) {
+            hash = (hash ^ cell) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static void swapFirstTwoTiles(int[] cells) {
+        int first = cells[0] != 0 ? 0 : 1;
+        int second = cells[first + 1] != 0 ? first + 1 : first + 2;
+        int swap = cells[first];
+        cells[first] = cells[second];
+        cells[second] = swap;
+    }
+
+    private static boolean isSolved(int[] cells) {
+        for (int i = 0; i < cells.length - 1; i++) {
+            if (cells[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
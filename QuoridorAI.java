@@ -0,0 +1,500 @@
+import java.util.Arrays;
+
+/**
+ * Computer player for Quoridor. Searches pawn moves and wall placements with alpha-beta and iterative
+ * deepening until its time budget runs out, and plays the best move of the deepest finished iteration. With
+ * more than two teams every other team is assumed to play against the computer (paranoid search), which
+ * reduces to ordinary minimax for two teams. Teams move in the order of their numbers.
+ *
+ * Positions are scored by how much closer the computer's pawn is to its goal side than the closest opponent
+ * (shortest paths that ignore pawns, kept by a QuoridorDistanceField as walls go up and come down), with a
+ * smaller weight on walls left in hand. Pawn moves come from QuoridorMoveGenerator. Walls come from
+ * WallSlots and WallValidator, and only walls that cut an opponent's witness path (a shortest path when it
+ * was found, updated move by move as the search plays and takes back moves) are searched, which keeps the
+ * branching factor near that of the pawn moves without missing the walls that matter.
+ * Moves are ordered with the transposition table's best move first, then pawn moves towards the goal, then
+ * walls. The table is keyed on a Zobrist key of the walls, the pawns, the walls left and the team to move.
+ *
+ * A move is a tile (row-major, 0-based) for a pawn move, or the size of the board plus a WallSlots slot for
+ * a wall.
+ *
+ * Usage: java QuoridorAI [width height teams millis moves] plays the computer against itself and reports the
+ * depth and nodes per second of every move.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class QuoridorAI {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+    private static final int INFINITY = 1 << 19;
+    private static final int WIN = 1 << 16;
+    private static final int PATH_WEIGHT = 10;
+    private static final int WALL_WEIGHT = 3;
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_WALLS = 20;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private static final int TABLE_BITS = 20;
+
+    private static long defaultBudgetMillis = DEFAULT_BUDGET_MILLIS;
+
+    private final int numTeams;
+    private final long budgetNanos;
+
+    private final long[] tableKeys = new long[1 << TABLE_BITS];
+    private final long[] tableData = new long[1 << TABLE_BITS]; //same layout as DotsAndBoxesAI's table
+    private int tableTeam = -1; //the computer team the table's values were computed for
+
+    //the position being searched, a copy of the caller's
+    private EdgeBitboard edges;
+    private WallSlots slots;
+    private QuoridorDistanceField distances;
+    private WallValidator validator;
+    private QuoridorMoveGenerator generator;
+    private int size;
+    private int[] pawns;
+    private int[] wallsLeft;
+    private long[] pawnKeys; //same layout as QuoridorGame's, so the pawn part of the keys matches the game's
+    private long[] wallKeys;
+    private long[] turnKeys;
+    private long pawnKey;
+    private long wallKey;
+
+    private int rootTeam;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int[][] moveBuffers = new int[0][];
+    private int[][] orderBuffers = new int[0][];
+
+    private int lastDepth;
+    private int lastValue;
+    private long lastNanos;
+
+    /**
+     * Creates a player for a game with the given number of teams, using the default time budget.
+     */
+    public QuoridorAI(int numTeams) {
+        this(numTeams, defaultBudgetMillis);
+    }
+
+    public QuoridorAI(int numTeams, long budgetMillis) {
+        this.numTeams = numTeams;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    /**
+     * Sets the time budget of players created from now on without an explicit budget.
+     */
+    public static void setDefaultBudgetMillis(long millis) {
+        defaultBudgetMillis = millis;
+    }
+
+    /**
+     * Returns the depth (in moves) of the last finished iteration of the last search.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Returns the value of the chosen move for the computer's team; a win is worth more than any evaluation.
+     */
+    public int getLastValue() {
+        return lastValue;
+    }
+
+    public long getNodesSearched() {
+        return nodes;
+    }
+
+    public long getNodesPerSecond() {
+        return lastNanos == 0 ? 0 : nodes * 1_000_000_000L / lastNanos;
+    }
+
+    /**
+     * Returns whether a move returned by chooseMove places a wall rather than moving the pawn.
+     */
+    public boolean isWall(int move) {
+        return move >= size;
+    }
+
+    /**
+     * Returns the WallSlots slot of a wall move.
+     */
+    public int wallSlot(int move) {
+        return move - size;
+    }
+
+    /**
+     * Picks the move for team. pawnTiles holds every team's pawn (row-major, 0-based) and wallsLeft how many
+     * walls every team still has. Everything is copied, so the caller's walls are not touched. Returns -1 if
+     * the pawn cannot move and no wall can be placed.
+     */
+    public int chooseMove(WallSlots walls, int[] pawnTiles, int[] wallsLeft, int team) {
+        long begin = System.nanoTime();
+        setUp(walls, pawnTiles, wallsLeft);
+        rootTeam = team;
+        deadline = begin + budgetNanos;
+        aborted = false;
+        nodes = 0;
+        if (tableTeam != team) {
+            Arrays.fill(tableKeys, 0L);
+            tableTeam = team;
+        }
+
+        int bestMove = -1;
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            int[] result = searchRoot(depth);
+            if (aborted) {
+                break;
+            }
+            bestMove = result[0];
+            lastValue = result[1];
+            lastDepth = depth;
+            if (bestMove == -1 || WIN - Math.abs(lastValue) <= depth) {
+                break; //nothing to play, or this search saw the game end
+            }
+        }
+        lastNanos = System.nanoTime() - begin;
+        return bestMove;
+    }
+
+    private void setUp(WallSlots walls, int[] pawnTiles, int[] wallsLeft) {
+        slots = walls.copy();
+        if (edges == null || edges.getWidth() != slots.getEdges().getWidth()
+                || edges.getHeight() != slots.getEdges().getHeight()) {
+            size = slots.getEdges().getWidth() * slots.getEdges().getHeight();
+            pawnKeys = Zobrist.keys(Zobrist.PAWNS, numTeams * (size + 1));
+            wallKeys = Zobrist.keys(Zobrist.WALLS_LEFT, numTeams * (MAX_WALLS + 1));
+            turnKeys = Zobrist.keys(Zobrist.TURN, numTeams);
+            moveBuffers = new int[MAX_DEPTH + 1][QuoridorMoveGenerator.MAX_MOVES + slots.getSlotCount()];
+            orderBuffers = new int[MAX_DEPTH + 1][QuoridorMoveGenerator.MAX_MOVES + slots.getSlotCount()];
+            Arrays.fill(tableKeys, 0L);
+        }
+        edges = slots.getEdges();
+        generator = new QuoridorMoveGenerator(edges);
+        distances = new QuoridorDistanceField(edges, numTeams);
+        validator = new WallValidator(slots, numTeams);
+        pawns = pawnTiles.clone();
+        validator.setPawns(pawns); //searchMove keeps the witness paths up to date from here on
+        this.wallsLeft = wallsLeft.clone();
+        pawnKey = 0;
+        wallKey = 0;
+        for (int t = 0; t < numTeams; t++) {
+            pawnKey ^= pawnKeys[t * (size + 1) + pawns[t] + 1];
+            wallKey ^= wallKeys[t * (MAX_WALLS + 1) + Math.min(this.wallsLeft[t], MAX_WALLS)];
+        }
+    }
+
+    /**
+     * Searches every root move to depth and returns {best move, value}.
+     */
+    private int[] searchRoot(int depth) {
+        long key = key(rootTeam);
+        int slot = slot(key, rootTeam);
+        int ttMove = tableKeys[slot] == key && teamOf(tableData[slot]) == rootTeam ? moveOf(tableData[slot]) : -1;
+        int count = orderedMoves(0, rootTeam, ttMove);
+        int[] moves = moveBuffers[0];
+        int alpha = -INFINITY;
+        int bestMove = count > 0 ? moves[0] : -1;
+        for (int i = 0; i < count; i++) {
+            int value = searchMove(0, depth, alpha, INFINITY, rootTeam, moves[i]);
+            if (aborted) {
+                break;
+            }
+            if (value > alpha) {
+                alpha = value;
+                bestMove = moves[i];
+            }
+        }
+        if (!aborted && bestMove != -1) {
+            store(key, rootTeam, depth, toTable(alpha, 0), EXACT, bestMove);
+        }
+        return new int[]{bestMove, alpha};
+    }
+
+    /**
+     * Plays move for team at ply, searches the rest of depth and takes the move back.
+     */
+    private int searchMove(int ply, int depth, int alpha, int beta, int team, int move) {
+        int next = (team + 1) % numTeams;
+        int value;
+        if (move < size) {
+            int from = pawns[team];
+            if (distances.isGoal(team, move)) {
+                return team == rootTeam ? WIN - ply : -(WIN - ply);
+            }
+            movePawn(team, from, move);
+            validator.pawnMoved(team, move);
+            value = search(ply + 1, depth - 1, alpha, beta, next);
+            movePawn(team, move, from);
+            validator.pawnMoved(team, from);
+        }
+        else {
+            int wall = move - size;
+            int mark = distances.mark();
+            slots.place(wall);
+            validator.wallPlaced(wall);
+            distances.edgeDrawn(slots.firstEdge(wall));
+            distances.edgeDrawn(slots.secondEdge(wall));
+            setWallsLeft(team, wallsLeft[team] - 1);
+            value = search(ply + 1, depth - 1, alpha, beta, next);
+            setWallsLeft(team, wallsLeft[team] + 1);
+            slots.remove(wall);
+            validator.wallRemoved(wall);
+            distances.undo(mark);
+        }
+        return value;
+    }
+
+    private int search(int ply, int depth, int alpha, int beta, int team) {
+        if ((++nodes & 0xFF) == 0 && System.nanoTime() - deadline > 0) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate(team);
+        }
+        boolean maximizing = team == rootTeam;
+
+        long key = key(team);
+        int slot = slot(key, team);
+        int ttMove = -1;
+        if (tableKeys[slot] == key && teamOf(tableData[slot]) == team) {
+            long data = tableData[slot];
+            ttMove = moveOf(data);
+            if (depthOf(data) >= depth) {
+                int value = fromTable(valueOf(data), ply);
+                int flag = flagOf(data);
+                if (flag == EXACT || (flag == LOWER && value >= beta) || (flag == UPPER && value <= alpha)) {
+                    return value;
+                }
+            }
+        }
+
+        int count = orderedMoves(ply, team, ttMove);
+        if (count == 0) {
+            return search(ply + 1, depth - 1, alpha, beta, (team + 1) % numTeams); //stuck: the turn passes
+        }
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int[] moves = moveBuffers[ply];
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = moves[0];
+        for (int i = 0; i < count; i++) {
+            int value = searchMove(ply, depth, alpha, beta, team, moves[i]);
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestMove = moves[i];
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            }
+            else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int flag = best <= originalAlpha ? UPPER : best >= originalBeta ? LOWER : EXACT;
+        store(key, team, depth, toTable(best, ply), flag, bestMove);
+        return best;
+    }
+
+    /**
+     * Scores a position at the search horizon for the computer's team: the closest opponent's distance to
+     * its goal minus the computer's own, and walls left in hand against the best-stocked opponent. The team to
+     * move counts as one step closer than its distance.
+     */
+    private int evaluate(int toMove) {
+        int own = 0;
+        int closest = Integer.MAX_VALUE;
+        int mostWalls = 0;
+        for (int t = 0; t < numTeams; t++) {
+            int distance = distances.distance(t, pawns[t]) - (t == toMove ? 1 : 0);
+            if (t == rootTeam) {
+                own = distance;
+            }
+            else {
+                closest = Math.min(closest, distance);
+                mostWalls = Math.max(mostWalls, wallsLeft[t]);
+            }
+        }
+        return PATH_WEIGHT * (closest - own) + WALL_WEIGHT * (wallsLeft[rootTeam] - mostWalls);
+    }
+
+    /**
+     * Fills the move buffer for ply with team's moves, best candidates first, and returns their number.
+     */
+    private int orderedMoves(int ply, int team, int firstMove) {
+        int[] moves = moveBuffers[ply];
+        int[] scores = orderBuffers[ply];
+        int count = generator.generate(pawns[team], pawns, moves);
+        int current = distances.distance(team, pawns[team]);
+        for (int i = 0; i < count; i++) {
+            //a step towards the goal scores 3, sideways 2, back 1
+            scores[i] = moves[i] == firstMove ? 4 : 2 + Integer.signum(current - distances.distance(team, moves[i]));
+        }
+        if (wallsLeft[team] > 0) {
+            int opponents = ~(1 << team);
+            for (int wall = 0; wall < slots.getSlotCount(); wall++) {
+                if ((validator.crossedTeams(wall) & opponents) != 0 && validator.isLegal(wall)) {
+                    moves[count] = size + wall;
+                    scores[count++] = size + wall == firstMove ? 4 : 2;
+                }
+            }
+        }
+        //insertion sort by score keeps the order stable within each class
+        for (int i = 1; i < count; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i;
+            while (j > 0 && scores[j - 1] < score) {
+                moves[j] = moves[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            moves[j] = move;
+            scores[j] = score;
+        }
+        return count;
+    }
+
+    private void movePawn(int team, int from, int to) {
+        pawnKey ^= pawnKeys[team * (size + 1) + from + 1] ^ pawnKeys[team * (size + 1) + to + 1];
+        pawns[team] = to;
+    }
+
+    private void setWallsLeft(int team, int walls) {
+        wallKey ^= wallKeys[team * (MAX_WALLS + 1) + Math.min(wallsLeft[team], MAX_WALLS)]
+                ^ wallKeys[team * (MAX_WALLS + 1) + Math.min(walls, MAX_WALLS)];
+        wallsLeft[team] = walls;
+    }
+
+    private long key(int team) {
+        long hash = edges.getKey() ^ pawnKey ^ wallKey ^ turnKeys[team];
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Wins are worth less the more moves they take from the root; the table keeps them as moves from the
+     * position itself, so they stay right when the position comes up at another ply.
+     */
+    private static int toTable(int value, int ply) {
+        return value >= WIN - MAX_DEPTH - 1 ? value + ply : value <= -(WIN - MAX_DEPTH - 1) ? value - ply : value;
+    }
+
+    private static int fromTable(int value, int ply) {
+        return value >= WIN - MAX_DEPTH - 1 ? value - ply : value <= -(WIN - MAX_DEPTH - 1) ? value + ply : value;
+    }
+
+    private static int slot(long key, int team) {
+        long h = (key + team) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> (64 - TABLE_BITS));
+    }
+
+    //data layout: value + 2^19 in bits 0-19, depth in bits 20-29, flag in bits 30-31, move in bits 32-47, team in bits 48-55
+    private void store(long key, int team, int depth, int value, int flag, int move) {
+        int slot = slot(key, team);
+        if (tableKeys[slot] == key && teamOf(tableData[slot]) == team && depthOf(tableData[slot]) > depth) {
+            return; //keep the deeper result for the same position
+        }
+        tableKeys[slot] = key;
+        tableData[slot] = (long) (value + (1 << 19))
+                | (long) Math.min(depth, 1023) << 20
+                | (long) flag << 30
+                | (long) (move & 0xFFFF) << 32
+                | (long) team << 48;
+    }
+
+    private static int valueOf(long data) {
+        return (int) (data & 0xFFFFF) - (1 << 19);
+    }
+
+    private static int depthOf(long data) {
+        return (int) (data >>> 20) & 0x3FF;
+    }
+
+    private static int flagOf(long data) {
+        return (int) (data >>> 30) & 0x3;
+    }
+
+    private static int moveOf(long data) {
+        return (int) (data >>> 32) & 0xFFFF;
+    }
+
+    private static int teamOf(long data) {
+        return (int) (data >>> 48) & 0xFF;
+    }
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        int teams = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long millis = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_BUDGET_MILLIS;
+        int maxMoves = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        //the same board and starting tiles as QuoridorGame
+        EdgeBitboard edges = new EdgeBitboard(width, height);
+        for (int edge = 0; edge < edges.getEdgeCount(); edge++) {
+            if (edges.edgeBox(edge, 1) == -1) {
+                edges.draw(edge);
+            }
+        }
+        WallSlots walls = new WallSlots(edges);
+        int[] pawns = new int[teams];
+        int[] wallsLeft = new int[teams];
+        for (int t = 0; t < teams; t++) {
+            pawns[t] = t == 0 ? width * height - width / 2 - 1 : t == 1 ? width - width / 2 - 1
+                    : t == 2 ? (height / 2) * width : (height / 2) * width + width - 1;
+            wallsLeft[t] = teams == 3 ? 7 : 20 / teams;
+        }
+
+        QuoridorAI[] players = new QuoridorAI[teams];
+        for (int t = 0; t < teams; t++) {
+            players[t] = new QuoridorAI(teams, millis);
+        }
+        long totalNodes = 0;
+        long totalNanos = 0;
+        for (int turn = 0; turn < maxMoves; turn++) {
+            int team = turn % teams;
+            QuoridorAI ai = players[team];
+            int move = ai.chooseMove(walls, pawns, wallsLeft, team);
+            totalNodes += ai.nodes;
+            totalNanos += ai.lastNanos;
+            if (move == -1) {
+                System.out.println("Team " + team + " cannot move");
+                continue;
+            }
+            String played;
+            if (ai.isWall(move)) {
+                walls.place(ai.wallSlot(move));
+                wallsLeft[team]--;
+                played = "wall " + ai.wallSlot(move);
+            }
+            else {
+                pawns[team] = move;
+                played = "pawn to " + (move + 1);
+            }
+            System.out.println(String.format("team %d: %-12s depth %2d  value %6d  %,d nodes/s", team, played,
+                    ai.getLastDepth(), ai.getLastValue(), ai.getNodesPerSecond()));
+            if (QuoridorDistanceField.isGoal(team, move, width, height) && !ai.isWall(move)) {
+                System.out.println("Team " + team + " wins");
+                break;
+            }
+        }
+        System.out.println(String.format("%,d nodes/s on average", totalNanos == 0 ? 0 : totalNodes * 1_000_000_000L / totalNanos));
+    }
+}
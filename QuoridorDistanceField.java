@@ -0,0 +1,276 @@
+import java.util.Arrays;
+
+/**
+ * Keeps, for every Quoridor team, the length of the shortest path from every tile to that team's goal side
+ * (team 0 heads for the top row, team 1 for the bottom row, team 2 for the right column, team 3 for the left
+ * column). Walls are the drawn edges of the board's EdgeBitboard. The fields start from a breadth first
+ * search outwards from each goal side and are then updated as walls go up, so whether a wall cuts a team off
+ * and how far each pawn is from its goal are array lookups.
+ *
+ * A wall only removes connections, so distances only grow, and only on tiles whose every shortest path used
+ * the removed connection. Those tiles are found by walking away from the wall while a tile has no neighbor
+ * one step closer to the goal that is still unaffected, and only they are searched again (from their
+ * unaffected neighbors, in order of distance). Every changed distance goes into an undo log, so a wall that
+ * turns out to be illegal, or one tried by a search, is taken back exactly by clearing its edges and calling
+ * undo with the mark taken before it went up. Once a wall is accepted, commit empties the log.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class QuoridorDistanceField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final EdgeBitboard edges;
+    private final int width;
+    private final int height;
+    private final int size;
+    private final int numTeams;
+    private final int[][] distances;
+    private final int[] neighbors;     //the tile across each side of each tile at [tile * 4 + side], -1 off the board
+    private final int[] neighborEdges; //the edge between them
+
+    //scratch for the searches
+    private final int[] queue;
+    private final long[] seeds;
+    private final boolean[] affected;
+
+    //undo log: team, tile and the distance it had before, per change
+    private int[] logTeams = new int[64];
+    private int[] logTiles = new int[64];
+    private int[] logValues = new int[64];
+    private int logSize;
+
+    public QuoridorDistanceField(EdgeBitboard edges, int numTeams) {
+        this.edges = edges;
+        this.width = edges.getWidth();
+        this.height = edges.getHeight();
+        this.size = width * height;
+        this.numTeams = numTeams;
+        this.distances = new int[numTeams][size];
+        this.neighbors = new int[size * 4];
+        this.neighborEdges = new int[size * 4];
+        for (int tile = 0; tile < size; tile++) {
+            for (int side = 0; side < 4; side++) {
+                int edge = edges.boxEdge(tile / width, tile % width, side);
+                int other = edges.edgeBox(edge, 0) == tile ? edges.edgeBox(edge, 1) : edges.edgeBox(edge, 0);
+                neighbors[tile * 4 + side] = other;
+                neighborEdges[tile * 4 + side] = edge;
+            }
+        }
+        this.queue = new int[size];
+        this.seeds = new long[size];
+        this.affected = new boolean[size];
+        recompute();
+    }
+
+    public int getTeamCount() {
+        return numTeams;
+    }
+
+    /**
+     * Returns whether a tile (row-major, 0-based) lies on a team's goal side.
+     */
+    public boolean isGoal(int team, int tile) {
+        return isGoal(team, tile, width, height);
+    }
+
+    public static boolean isGoal(int team, int tile, int width, int height) {
+        switch (team) {
+            case 0:
+                return tile / width == 0;
+            case 1:
+                return tile / width == height - 1;
+            case 2:
+                return tile % width == width - 1;
+            default:
+                return tile % width == 0;
+        }
+    }
+
+    /**
+     * Returns the number of steps from a tile (row-major, 0-based) to a team's goal side ignoring pawns, or
+     * UNREACHABLE if walls cut the tile off from it.
+     */
+    public int distance(int team, int tile) {
+        return distances[team][tile];
+    }
+
+    /**
+     * Rebuilds every field from scratch with a breadth first search from each goal side; clears the undo log.
+     */
+    public void recompute() {
+        for (int team = 0; team < numTeams; team++) {
+            int[] field = distances[team];
+            Arrays.fill(field, UNREACHABLE);
+            int head = 0;
+            int tail = 0;
+            for (int tile = 0; tile < size; tile++) {
+                if (isGoal(team, tile)) {
+                    field[tile] = 0;
+                    queue[tail++] = tile;
+                }
+            }
+            while (head < tail) {
+                int tile = queue[head++];
+                for (int side = 0; side < 4; side++) {
+                    int next = open(tile, side);
+                    if (next != -1 && field[next] == UNREACHABLE) {
+                        field[next] = field[tile] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+        logSize = 0;
+    }
+
+    /**
+     * Returns a mark for undo that stands for the current distances.
+     */
+    public int mark() {
+        return logSize;
+    }
+
+    /**
+     * Restores the distances to what they were at the mark. The edges drawn since then must be cleared too.
+     */
+    public void undo(int mark) {
+        while (logSize > mark) {
+            logSize--;
+            distances[logTeams[logSize]][logTiles[logSize]] = logValues[logSize];
+        }
+    }
+
+    /**
+     * Drops the undo log once the walls drawn so far are up for good, so it does not grow for the rest of the
+     * game. Marks taken before this can no longer be undone to.
+     */
+    public void commit() {
+        logSize = 0;
+    }
+
+    /**
+     * Updates every field after edge has been drawn on the board.
+     */
+    public void edgeDrawn(int edge) {
+        int a = edges.edgeBox(edge, 0);
+        int b = edges.edgeBox(edge, 1);
+        if (a == -1 || b == -1) {
+            return; //the outer border separates nothing
+        }
+        for (int team = 0; team < numTeams; team++) {
+            int[] field = distances[team];
+            if (field[a] == field[b]) {
+                continue;
+            }
+            int far = field[a] > field[b] ? a : b; //only the farther tile can have been using the connection
+            if (field[far] != UNREACHABLE && !hasSupport(field, far)) {
+                update(team, far);
+            }
+        }
+    }
+
+    /**
+     * Whether a tile still has an unaffected open neighbor one step closer to the goal.
+     */
+    private boolean hasSupport(int[] field, int tile) {
+        if (field[tile] == 0) {
+            return true;
+        }
+        for (int side = 0; side < 4; side++) {
+            int next = open(tile, side);
+            if (next != -1 && !affected[next] && field[next] == field[tile] - 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void update(int team, int start) {
+        int[] field = distances[team];
+
+        //find the tiles that lost every shortest path, level by level away from the wall
+        int count = 0;
+        affected[start] = true;
+        queue[count++] = start;
+        for (int i = 0; i < count; i++) {
+            int tile = queue[i];
+            for (int side = 0; side < 4; side++) {
+                int next = open(tile, side);
+                if (next != -1 && !affected[next] && field[next] == field[tile] + 1 && !hasSupport(field, next)) {
+                    affected[next] = true;
+                    queue[count++] = next;
+                }
+            }
+        }
+
+        //each affected tile starts from its best unaffected neighbor; then relax in order of distance
+        int seedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int tile = queue[i];
+            int best = UNREACHABLE;
+            for (int side = 0; side < 4; side++) {
+                int next = open(tile, side);
+                if (next != -1 && !affected[next] && field[next] != UNREACHABLE) {
+                    best = Math.min(best, field[next] + 1);
+                }
+            }
+            set(team, tile, best);
+            if (best != UNREACHABLE) {
+                seeds[seedCount++] = (long) best << 32 | tile;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        //merge the sorted seeds with a FIFO of relaxed tiles, whose distances never decrease
+        int head = 0;
+        int tail = 0;
+        int s = 0;
+        while (s < seedCount || head < tail) {
+            int tile;
+            if (head == tail || (s < seedCount && (int) (seeds[s] >>> 32) <= field[queue[head]])) {
+                tile = (int) seeds[s];
+                if ((int) (seeds[s++] >>> 32) != field[tile]) {
+                    continue; //improved since it was seeded
+                }
+            }
+            else {
+                tile = queue[head++];
+            }
+            for (int side = 0; side < 4; side++) {
+                int next = open(tile, side);
+                if (next != -1 && affected[next] && field[tile] + 1 < field[next]) {
+                    set(team, next, field[tile] + 1);
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        for (int tile = 0; tile < size; tile++) {
+            affected[tile] = false;
+        }
+    }
+
+    /**
+     * The tile across side of tile if no wall is in the way, otherwise -1.
+     */
+    private int open(int tile, int side) {
+        int next = neighbors[tile * 4 + side];
+        return next != -1 && !edges.isDrawn(neighborEdges[tile * 4 + side]) ? next : -1;
+    }
+
+    private void set(int team, int tile, int distance) {
+        if (logSize == logTeams.length) {
+            logTeams = Arrays.copyOf(logTeams, logSize * 2);
+            logTiles = Arrays.copyOf(logTiles, logSize * 2);
+            logValues = Arrays.copyOf(logValues, logSize * 2);
+        }
+        logTeams[logSize] = team;
+        logTiles[logSize] = tile;
+        logValues[logSize] = distances[team][tile];
+        logSize++;
+        distances[team][tile] = distance;
+    }
+}
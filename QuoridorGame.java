@@ -18,6 +18,13 @@ public class QuoridorGame extends Game{
     private int[] wallsPerTeam;
 
     private Integer[] pawnPositions;
+    private long[] pawnKeys; //Zobrist key of team t's pawn on tile n at [t * (size + 1) + n]
+    private long pawnKey;    //XOR of the keys of every pawn's tile, kept up to date by setPawnPosition
+    private QuoridorDistanceField distances; //every tile's distance to each team's goal, updated as walls go up
+    private WallSlots wallSlots;       //every place a wall can go, and which walls are up
+    private WallValidator wallValidator;
+    private QuoridorMoveGenerator moveGenerator;
+    private QuoridorAI ai; //created when a computer team first moves
     private final Difficulty difficulty = Difficulty.EASY; //Since this is a PvP game, it has no impact on the game.
     public QuoridorGame(){
         initialize();
@@ -32,7 +39,7 @@ public class QuoridorGame extends Game{
         System.out.println("Welcome to Quoridor! The goal of this game is to get to your opponent's side\n" +
                 "before your opponent gets to your side!");
 
-        this.teams = ConsoleController.createTeams();
+        this.teams = ConsoleController.createTeams(true);
 
         this.numPlayers = teams[0].getPlayers().length * teams.length;
 
@@ -44,15 +51,12 @@ public class QuoridorGame extends Game{
 
         setWallsPerTeam();
 
-        pawnPositions = new Integer[teams.length];
-
         System.out.println("Great! Lets now get the board dimensions, here we are referring to the # of board tiles.");
 
         createValidBoardState(Difficulty.EASY); // GENERIC DIFFICULTY, DOES NOT IMPACT
 
         for (int i = 0; i < teams.length; i++) {
             teamPawns.add(new Piece<>(i));
-            setPawnStartingPosition(i);
         }
 
         super.hasDifficulty = false;
@@ -68,18 +72,38 @@ public class QuoridorGame extends Game{
      */
     void setPawnStartingPosition(int teamNumber) {
         if (teamNumber == 0){
-            pawnPositions[teamNumber] = (board.getHeight() * board.getWidth()) -  (board.getWidth() / 2);
+            setPawnPosition(teamNumber, (board.getHeight() * board.getWidth()) -  (board.getWidth() / 2));
         }
         else if (teamNumber == 1){
-            pawnPositions[teamNumber] = board.getWidth() -  (board.getWidth() / 2);
+            setPawnPosition(teamNumber, board.getWidth() -  (board.getWidth() / 2));
         }
         else if (teamNumber == 2){
-            pawnPositions[teamNumber] = (board.getHeight() / 2) * board.getWidth() + 1;
+            setPawnPosition(teamNumber, (board.getHeight() / 2) * board.getWidth() + 1);
         }
         else{
-            pawnPositions[teamNumber] = (board.getHeight() / 2) * board.getWidth() + board.getWidth();
+            setPawnPosition(teamNumber, (board.getHeight() / 2) * board.getWidth() + board.getWidth());
+        }
+
+    }
+
+    /**
+     * Moves a team's pawn to a tile, keeping the pawn part of the position key up to date.
+     */
+    private void setPawnPosition(int teamNumber, int tile) {
+        int stride = board.size() + 1;
+        if (pawnPositions[teamNumber] != null) {
+            pawnKey ^= pawnKeys[teamNumber * stride + pawnPositions[teamNumber]];
         }
+        pawnPositions[teamNumber] = tile;
+        pawnKey ^= pawnKeys[teamNumber * stride + tile];
+    }
 
+    /**
+     * Returns the Zobrist key of the position: the walls, which the board updates as they are drawn, and
+     * every pawn's tile.
+     */
+    public long getPositionKey() {
+        return board.getEdges().getKey() ^ pawnKey;
     }
 
     @Override
@@ -93,6 +117,18 @@ public class QuoridorGame extends Game{
         board = new BoardWithEdges(dims[0],dims[1]);
         this.board.numberBoardTiles();
         board.fillBorderWalls();
+
+        //everything sized by the board is rebuilt with it, so a replay on another size starts clean
+        pawnKeys = Zobrist.keys(Zobrist.PAWNS, teams.length * (board.size() + 1));
+        pawnKey = 0;
+        distances = new QuoridorDistanceField(board.getEdges(), teams.length);
+        wallSlots = new WallSlots(board.getEdges());
+        wallValidator = new WallValidator(wallSlots, teams.length);
+        moveGenerator = new QuoridorMoveGenerator(board.getEdges());
+        pawnPositions = new Integer[teams.length];
+        for (int i = 0; i < teams.length; i++) {
+            setPawnStartingPosition(i);
+        }
     }
 
     @Override
@@ -115,9 +151,14 @@ public class QuoridorGame extends Game{
 
             System.out.println("Player " + p.getpName() + ", of team: " +Utility.colorString(teams[p.getTeamNum()].getTeamName(), p.getTeamNum()) +  ", it is your turn!");
 
-            int playerChoice = movePawnOrPlaceWall(p);
+            if (p.isComputer()){
+                playComputerMove(p);
+            }
+            else {
+                int playerChoice = movePawnOrPlaceWall(p);
 
-            updateGameState(playerChoice, p);
+                updateGameState(playerChoice, p);
+            }
 
             render();
             if (checkWinCondition(p.getTeamNum())) {
@@ -145,11 +186,7 @@ public class QuoridorGame extends Game{
 
     @Override
     void reset() {
-        for (int i = 0; i < teams.length; i++) {
-
-            setPawnStartingPosition(i);
-        }
-        setWallsPerTeam();
+        setWallsPerTeam(); //the pawns go back to their starting tiles when the next board is created
 
     }
 
@@ -207,6 +244,42 @@ public class QuoridorGame extends Game{
         return 0;
     }
 
+    /**
+     * Lets the AI move the pawn or place a wall for a computer player.
+     */
+    private void playComputerMove(Player p){
+        int team = p.getTeamNum();
+        if (ai == null){
+            ai = new QuoridorAI(teams.length);
+        }
+        int move = ai.chooseMove(wallSlots, getPawnTiles(), wallsPerTeam, team);
+        if (move == -1){
+            System.out.println(p.getpName() + " cannot move and has to pass.");
+        }
+        else if (ai.isWall(move)){
+            int slot = ai.wallSlot(move);
+            wallSlots.place(slot);
+            distances.edgeDrawn(wallSlots.firstEdge(slot));
+            distances.edgeDrawn(wallSlots.secondEdge(slot));
+            distances.commit();
+            wallsPerTeam[team]--;
+            teams[team].incrementStat2();
+            EdgeBitboard edges = board.getEdges();
+            //the first tile on each edge is the one above or to the left of it
+            int first = edges.edgeBox(wallSlots.firstEdge(slot), 0) + 1;
+            int second = edges.edgeBox(wallSlots.secondEdge(slot), 0) + 1;
+            System.out.println(p.getpName() + " places a wall " + (wallSlots.isHorizontal(slot) ? "below" : "right of")
+                    + " tiles " + first + " and " + second + ".");
+        }
+        else {
+            setPawnPosition(team, move + 1);
+            teams[team].incrementStat1();
+            System.out.println(p.getpName() + " moves to tile " + (move + 1) + ".");
+        }
+        System.out.println(String.format("(looked %d moves ahead, %,d nodes at %,d nodes/s)", ai.getLastDepth(),
+                ai.getNodesSearched(), ai.getNodesPerSecond()));
+    }
+
     /**
      * gives the user an option to either move their pawn or place a wall
      * @param p
@@ -214,6 +287,10 @@ public class QuoridorGame extends Game{
     private int movePawnOrPlaceWall (Player p){
         List<String> options = new ArrayList<>();
         options.add("Move Pawn");
+        if (wallsPerTeam[p.getTeamNum()] > 0 && !hasLegalWall()){
+            System.out.println("Player " + p.getpName() + ", there is no room left for a wall, your only option is to move the pawn.");
+            return 1;
+        }
         if (wallsPerTeam[p.getTeamNum()] > 0){
             options.add("Add Wall, (walls remaining: "+ wallsPerTeam[p.getTeamNum()]+").");
             ConsoleController.displayOptions(options, "Player " + p.getpName() + ", would you like to move your pawn or place a wall");
@@ -226,6 +303,14 @@ public class QuoridorGame extends Game{
 
     }
 
+    /**
+     * Returns true if some wall can still go up without cutting a team off from its goal side.
+     */
+    private boolean hasLegalWall(){
+        wallValidator.setPawns(getPawnTiles());
+        return wallValidator.hasLegalWall();
+    }
+
     /**
      * asks the user where they want to place their wall
      * @param p
@@ -237,16 +322,18 @@ public class QuoridorGame extends Game{
         int edgeIndex = 0;
         int direction = 0;
         boolean exitMethod = false;
-        Edge tileEdge = null;
-        Edge adjEdge = null;
+        int tileEdge = -1;
+        int adjEdge = -1;
+        int wallMark = distances.mark();
 
         do {
             if(!checkIfPawnPathsBlocked ()){
-                tileEdge.isDrawn = false;
-                adjEdge.isDrawn = false;
+                board.getEdges().clear(tileEdge);
+                board.getEdges().clear(adjEdge);
+                distances.undo(wallMark);
 
             }
-            int tileNum1D = Input.getIntInput(0, board.flattenBoard().length, "Please select which tile to add a wall to\n" +
+            int tileNum1D = Input.getIntInput(0, board.size(), "Please select which tile to add a wall to\n" +
                     "or select 0 to move your pawn instead:");
 
             if(tileNum1D == 0){
@@ -257,10 +344,12 @@ public class QuoridorGame extends Game{
                 tileCoord = Utility.convert1Dto2D(tileNum1D, board.getWidth());
                 edgeValidity = getValidEdges(tileCoord[0], tileCoord[1]);
                 List<String> validEdges = new ArrayList<>();
+                List<Integer> validSides = new ArrayList<>();
 
                 for (int i = 0 ; i < 4; i++){
                     if (edgeValidity[i] != 0){
                         validEdges.add(board.getEdgeName(i));
+                        validSides.add(i);
                     }
                 }
 
@@ -269,7 +358,7 @@ public class QuoridorGame extends Game{
                 edgeIndex = Input.getIntInput(1, validEdges.size(), "Choose a number: ");
                 edgeIndex--;
 
-                edgeIndex = board.getIndexFromDirection(validEdges.get(edgeIndex));
+                edgeIndex = validSides.get(edgeIndex);
 
 
                 if(edgeValidity[edgeIndex] != 1  && edgeValidity[edgeIndex] != 2){
@@ -298,13 +387,11 @@ public class QuoridorGame extends Game{
                 }
 
                 if (edgeValidity[edgeIndex] == 1 || edgeValidity[edgeIndex] == 2){ //is the validity of this edge 1 or 2
-                    board.getBoxEdges(tileCoord[0],tileCoord[1])[edgeIndex].isDrawn = true;
-                    tileEdge = board.getBoxEdges(tileCoord[0],tileCoord[1])[edgeIndex];
+                    tileEdge = board.drawBoxEdge(tileCoord[0], tileCoord[1], edgeIndex);
                     adjEdge =  placeAdjacentEdge(tileCoord, edgeIndex, edgeValidity[edgeIndex]);
                 }
                 else{
-                    board.getBoxEdges(tileCoord[0],tileCoord[1])[edgeIndex].isDrawn = true;
-                    tileEdge = board.getBoxEdges(tileCoord[0],tileCoord[1])[edgeIndex];
+                    tileEdge = board.drawBoxEdge(tileCoord[0], tileCoord[1], edgeIndex);
                     if(edgeIndex == 2 && direction == 1){
                         adjEdge = placeAdjacentEdge(tileCoord, edgeIndex, 2);
                     } else if (edgeIndex == 2 && direction == 2) {
@@ -314,6 +401,9 @@ public class QuoridorGame extends Game{
                         adjEdge = placeAdjacentEdge(tileCoord, edgeIndex, direction);
                     }
                 }
+                wallMark = distances.mark();
+                distances.edgeDrawn(tileEdge);
+                distances.edgeDrawn(adjEdge);
 
 
                 if(!checkIfPawnPathsBlocked ()){
@@ -326,9 +416,8 @@ public class QuoridorGame extends Game{
         while (!checkIfPawnPathsBlocked ());
 
         if (!exitMethod){
-            board.getBoxEdges(tileCoord[0],tileCoord[1])[edgeIndex].isDrawn = true;
-
-            placeWall(tileCoord, edgeValidity, edgeIndex, direction);
+            wallSlots.place(wallSlots.slot(tileEdge, adjEdge));
+            distances.commit();
 
 
             System.out.println("Wall has been placed!");
@@ -339,77 +428,45 @@ public class QuoridorGame extends Game{
         
     }
 
-    /**
-     * places wall based on the user's decision
-     * @param tileCoord
-     * @param edgeValidity
-     * @param edgeIndex
-     * @param direction
-     */
-    private void placeWall(int[] tileCoord, int[] edgeValidity, int edgeIndex, int direction) {
-        if (edgeValidity[edgeIndex] == 1 || edgeValidity[edgeIndex] == 2){ //is the validity of this edge 1 or 2
-            board.getBoxEdges(tileCoord[0],tileCoord[1])[edgeIndex].isDrawn = true;
-            placeAdjacentEdge(tileCoord, edgeIndex, edgeValidity[edgeIndex]);
-        }
-        else{
-            if(edgeIndex == 2 && direction == 1){
-                placeAdjacentEdge(tileCoord, edgeIndex, 2);
-            } else if (edgeIndex == 2 && direction == 2) {
-                placeAdjacentEdge(tileCoord, edgeIndex, 1);
-            }
-            else{
-                placeAdjacentEdge(tileCoord, edgeIndex, direction);
-            }
-        }
-    }
-
     /**
      * places the necessary adjacent edge to a wall since a wall should
      * cover 2 edges
      * @param curBoxCoord
      * @param edgeIndx
      * @param direction
-     * @return
+     * @return the id of the edge that was drawn
      */
-    private Edge placeAdjacentEdge(int[] curBoxCoord, int edgeIndx, int direction){
+    private int placeAdjacentEdge(int[] curBoxCoord, int edgeIndx, int direction){
         if (edgeIndx == 0){
             if (direction == 1){ //place to the left
-                board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]-1)[0].isDrawn = true;
-                return  board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]-1)[0];
+                return board.drawBoxEdge(curBoxCoord[0], curBoxCoord[1]-1, EdgeBitboard.UP);
             }
             else{
-                board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]+1)[0].isDrawn = true;
-                return  board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]+1)[0];
+                return board.drawBoxEdge(curBoxCoord[0], curBoxCoord[1]+1, EdgeBitboard.UP);
             }
         }
         else if (edgeIndx == 1){
             if (direction == 1){ //place to the left
-                board.getBoxEdges(curBoxCoord[0]-1, curBoxCoord[1])[1].isDrawn = true;
-                return board.getBoxEdges(curBoxCoord[0]-1, curBoxCoord[1])[1];
+                return board.drawBoxEdge(curBoxCoord[0]-1, curBoxCoord[1], EdgeBitboard.RIGHT);
             }
             else{
-                board.getBoxEdges(curBoxCoord[0]+1, curBoxCoord[1])[1].isDrawn = true;
-                return board.getBoxEdges(curBoxCoord[0]+1, curBoxCoord[1])[1];
+                return board.drawBoxEdge(curBoxCoord[0]+1, curBoxCoord[1], EdgeBitboard.RIGHT);
             }
         }
         else if (edgeIndx == 2){
             if (direction == 1){ //place to the left (left in this case means relative to the board)
-                board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]-1)[2].isDrawn = true;
-                return  board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]-1)[2];
+                return board.drawBoxEdge(curBoxCoord[0], curBoxCoord[1]-1, EdgeBitboard.DOWN);
             }
             else{
-                board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]+1)[2].isDrawn = true;
-                return board.getBoxEdges(curBoxCoord[0], curBoxCoord[1]+1)[2];
+                return board.drawBoxEdge(curBoxCoord[0], curBoxCoord[1]+1, EdgeBitboard.DOWN);
             }
         }
         else{
             if (direction == 1){ //place to the left
-                board.getBoxEdges(curBoxCoord[0] + 1, curBoxCoord[1])[3].isDrawn = true;
-                return board.getBoxEdges(curBoxCoord[0] + 1, curBoxCoord[1])[3];
+                return board.drawBoxEdge(curBoxCoord[0] + 1, curBoxCoord[1], EdgeBitboard.LEFT);
             }
             else{
-                board.getBoxEdges(curBoxCoord[0]-1, curBoxCoord[1])[3].isDrawn = true;
-                return  board.getBoxEdges(curBoxCoord[0] - 1, curBoxCoord[1])[3];
+                return board.drawBoxEdge(curBoxCoord[0]-1, curBoxCoord[1], EdgeBitboard.LEFT);
             }
         }
     }
@@ -421,8 +478,9 @@ public class QuoridorGame extends Game{
      * @return
      */
     private int[] getValidEdges(int x, int y){
-
-        List<Edge> undrawnEdges =  board.getUndrawnBoxEdges(x,y, true);
+        EdgeBitboard edges = board.getEdges();
+        int lastRow = board.getHeight() - 1;
+        int lastCol = board.getWidth() - 1;
         int[] validEdges =  new int[4];
         //returns an array of numbers, each number represents how many ways we can place a wall on a certain edge
         // 3 - wall can be placed extending left or right
@@ -430,100 +488,33 @@ public class QuoridorGame extends Game{
         // 1 - wall can be places extending left only
         // 0 - wall cannot be placed at all on this edge
 
+        validEdges[EdgeBitboard.UP] = wallDirections(edges.horizontalEdge(x, y),
+                y > 0 ? edges.horizontalEdge(x, y - 1) : -1, y < lastCol ? edges.horizontalEdge(x, y + 1) : -1);
+        validEdges[EdgeBitboard.RIGHT] = wallDirections(edges.verticalEdge(x, y + 1),
+                x > 0 ? edges.verticalEdge(x - 1, y + 1) : -1, x < lastRow ? edges.verticalEdge(x + 1, y + 1) : -1);
+        validEdges[EdgeBitboard.DOWN] = wallDirections(edges.horizontalEdge(x + 1, y),
+                y > 0 ? edges.horizontalEdge(x + 1, y - 1) : -1, y < lastCol ? edges.horizontalEdge(x + 1, y + 1) : -1);
+        //for the left side, "left" is the tile below
+        validEdges[EdgeBitboard.LEFT] = wallDirections(edges.verticalEdge(x, y),
+                x < lastRow ? edges.verticalEdge(x + 1, y) : -1, x > 0 ? edges.verticalEdge(x - 1, y) : -1);
+        return validEdges;
+    }
 
-        for (int i = 0; i< undrawnEdges.size(); i++){
-            if (undrawnEdges.get(i).getType().equals("up")){ //check top edges
-                if (y == 0){
-                    if (!board.getBoxEdges(x,y+1)[0].isDrawn){
-                        validEdges[0] = 2;
-                    }
-                } else if (y == board.getWidth()-1) {
-                    if (!board.getBoxEdges(x,y-1)[0].isDrawn){
-                        validEdges[0] = 1;
-                    }
-                }
-                else{ //central tile, check the top edge of both adjacent tiles
-                    if (!board.getBoxEdges(x,y-1)[0].isDrawn && !board.getBoxEdges(x,y+1)[0].isDrawn){
-                        validEdges[0] = 3;
-                    }
-                    else if (!board.getBoxEdges(x,y-1)[0].isDrawn){
-                        validEdges[0] = 1;
-                    }
-                    else if (!board.getBoxEdges(x,y+1)[0].isDrawn) {
-                        validEdges[0] = 2;
-                    }
-                }
-            }
-            else if (undrawnEdges.get(i).getType().equals("right")){
-                if (x == 0){ //top row tile, only check row below
-                    if (!board.getBoxEdges(x+1,y)[1].isDrawn){
-                        validEdges[1] = 2;
-                    }
-                } else if (x == board.getHeight()-1) { //bottom row tile, only check row above
-                    if (!board.getBoxEdges(x-1,y)[1].isDrawn){
-                        validEdges[1] = 1;
-                    }
-                }
-                else{ //central tile, check the top edge of both adjacent tiles
-                    if (!board.getBoxEdges(x-1,y)[1].isDrawn && !board.getBoxEdges(x+1,y)[1].isDrawn){
-                        validEdges[1] = 3;
-                    }
-                    else if (!board.getBoxEdges(x-1,y)[1].isDrawn){
-                        validEdges[1] = 1;
-                    }
-                    else if (!board.getBoxEdges(x+1,y)[1].isDrawn) {
-                        validEdges[1] = 2;
-                    }
-                }
-
-            }
-            else if (undrawnEdges.get(i).getType().equals("down")){ //check bottom edges
-                if (y == 0){
-                    if (!board.getBoxEdges(x,y+1)[2].isDrawn){
-                        validEdges[2] = 2;
-                    }
-                } else if (y == board.getWidth()-1) {
-                    if (!board.getBoxEdges(x,y-1)[2].isDrawn){
-                        validEdges[2] = 1; //change to 2 if left is relative to edge and not board
-                    }
-                }
-                else{ //central tile, check the top edge of both adjacent tiles
-                    if (!board.getBoxEdges(x,y-1)[2].isDrawn && !board.getBoxEdges(x,y+1)[2].isDrawn){
-                        validEdges[2] = 3;
-                    }
-                    else if (!board.getBoxEdges(x,y-1)[2].isDrawn){
-                        validEdges[2] = 1;
-                    }
-                    else if (!board.getBoxEdges(x,y+1)[2].isDrawn) {
-                        validEdges[2] = 2;
-                    }
-                }
-            }
-            else {
-                if (x == 0){ //top row tile, only check row below
-                    if (!board.getBoxEdges(x+1,y)[3].isDrawn){
-                        validEdges[3] = 1;
-                    }
-                } else if (x == board.getHeight()-1) { //bottom row tile, only check row above
-                    if (!board.getBoxEdges(x-1,y)[3].isDrawn){
-                        validEdges[3] = 2;
-                    }
-                }
-                else{ //central tile, check the top edge of both adjacent tiles
-                    if (!board.getBoxEdges(x-1,y)[3].isDrawn && !board.getBoxEdges(x+1,y)[3].isDrawn){
-                        validEdges[3] = 3;
-                    }
-                    else if (!board.getBoxEdges(x-1,y)[3].isDrawn){
-                        validEdges[3] = 2;
-                    }
-                    else if (!board.getBoxEdges(x+1,y)[3].isDrawn) {
-                        validEdges[3] = 1;
-                    }
-                }
-
-            }
+    /**
+     * Returns 1 if a wall fits over edge and the first neighbor edge, 2 if over edge and the second, 3 if
+     * both, 0 if neither (-1 stands for no neighbor edge)
+     */
+    private int wallDirections(int edge, int first, int second){
+        int directions = 0;
+        int slot = first == -1 ? -1 : wallSlots.slot(edge, first);
+        if (slot != -1 && wallSlots.isFree(slot)){
+            directions |= 1;
         }
-        return validEdges;
+        slot = second == -1 ? -1 : wallSlots.slot(edge, second);
+        if (slot != -1 && wallSlots.isFree(slot)){
+            directions |= 2;
+        }
+        return directions;
     }
 
 
@@ -542,299 +533,52 @@ public class QuoridorGame extends Game{
 
     private void movePawn(Player p){
         int pawnPos = pawnPositions[p.getTeamNum()];
-        List<Integer> validMoveTiles = checkIfBasicMovesPossible(pawnPos, p.getTeamNum());
+        List<Integer> validMoveTiles = getValidMoveTiles(pawnPos);
         System.out.println("The board will be displayed with valid tiles in " + Utility.colorString("magenta.", -1)
                 +"\nPlease choose from these tiles.");
         render(validMoveTiles);
         int choice = Input.getIntInput(validMoveTiles, "Please enter the tile # you want to move to");
-        pawnPositions[p.getTeamNum()] = choice;
+        setPawnPosition(p.getTeamNum(), choice);
         System.out.println("Your pawn has succesfully moved to tile: "+ choice);
         teams[p.getTeamNum()].incrementStat1();
     }
 
     /**
-     * Checks if the basic pawn movements are possible(no jumps)
+     * Returns the tiles the pawn on pawnPos can move to, steps and jumps over neighboring pawns alike
      * @param pawnPos
-     * @param teamNum
      * @return
      */
-    private List<Integer> checkIfBasicMovesPossible(int pawnPos, int teamNum){
+    private List<Integer> getValidMoveTiles(int pawnPos){
+        int[] moves = new int[QuoridorMoveGenerator.MAX_MOVES];
+        int count = moveGenerator.generate(pawnPos - 1, getPawnTiles(), moves);
         List<Integer> validMoveTiles = new ArrayList<>();
-        //first check if movement options are out of bounds
-        int[] pawnCoord = Utility.convert1Dto2D(pawnPos, board.getWidth());
-        int[][] pawnPositions2D = get2DPawnPositions();
-        Edge[] edges = board.getBoxEdges(pawnCoord[0], pawnCoord[1]);
-        List<int[]> adjPawnCoordDir = getAdjPawnCoordsAndDirection(pawnCoord, pawnPositions2D);
-        if (pawnCoord[0] != 0 && !edges[0].isDrawn && !isDirectionBlockedByPawn(0, adjPawnCoordDir)){ //checking if above tile is reachable, could be out of bounds, blocked by wall or enemy
-            int tileNum = Utility.convert2Dto1D(pawnCoord[0]-1, pawnCoord[1], board.getWidth());
-            validMoveTiles.add(tileNum);
-        }
-        if (pawnCoord[0] != board.getHeight()-1 && !edges[2].isDrawn && !isDirectionBlockedByPawn(2, adjPawnCoordDir)){ //checking if below tile is reachable, could be out of bounds, blocked by wall or enemy
-            int tileNum = Utility.convert2Dto1D(pawnCoord[0]+1, pawnCoord[1], board.getWidth());
-            validMoveTiles.add(tileNum);
-        }
-
-        if (pawnCoord[1] != 0 && !edges[3].isDrawn && !isDirectionBlockedByPawn(3, adjPawnCoordDir)){ //checking if left tile is reachable, could be out of bounds, blocked by wall or enemy
-            int tileNum = Utility.convert2Dto1D(pawnCoord[0], pawnCoord[1]-1, board.getWidth());
-            validMoveTiles.add(tileNum);
-        }
-        if (pawnCoord[1] != board.getWidth()-1 && !edges[1].isDrawn && !isDirectionBlockedByPawn(1, adjPawnCoordDir)){ //checking if below tile is reachable, could be out of bounds, blocked by wall or enemy
-            int tileNum = Utility.convert2Dto1D(pawnCoord[0], pawnCoord[1]+1, board.getWidth());
-            validMoveTiles.add(tileNum);
-        }
-
-        List<Integer> specialMoves = new ArrayList<>();
-
-        if (adjPawnCoordDir != null) {
-            specialMoves = getSpecialValidTiles(adjPawnCoordDir, pawnPos, teamNum);
-        }
-
-        for (Integer move : specialMoves) {
-            if (!validMoveTiles.contains(move)) {
-                validMoveTiles.add(move);
-            }
+        for (int i = 0; i < count; i++){
+            validMoveTiles.add(moves[i] + 1);
         }
-
         return validMoveTiles;
     }
 
     /**
-     * Checks which jumps are possible
-     * @param adjPawnCoordDir
-     * @param pawnPos
-     * @param teamNum
-     * @return
+     * Returns the pawn positions as 0-based tiles, the numbering the move generator and wall validator use
      */
-    private List<Integer> getSpecialValidTiles(List<int[]> adjPawnCoordDir, int pawnPos, int teamNum) {
-        List<Integer> specialValidTiles = new ArrayList<>();
-        // Get pawn coordinates
-        int[] pawnCoord = Utility.convert1Dto2D(pawnPos, board.getWidth());
-
-        // Check each adjacent pawn for jumping possibility
-        for (int[] adjPawn : adjPawnCoordDir) {
-            int adjPawnX = adjPawn[0];
-            int adjPawnY = adjPawn[1];
-            int direction = adjPawn[2];
-
-            Edge[] edges = board.getBoxEdges(adjPawnX, adjPawnY);
-
-
-            if (teamNum == 1 && adjPawnX > pawnCoord[0]) {
-                int destX = adjPawnX + 1;
-                int destY = pawnCoord[1];
-                int tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                if (!(tileNum > board.getHeight() * board.getWidth())) {
-                    if (!edges[2].isDrawn) {
-                        specialValidTiles.add(tileNum);
-                    }
-                    else {
-                        if (!edges[1].isDrawn) {
-                            destX = pawnCoord[0] + 1;
-                            destY = pawnCoord[1] + 1;
-                            tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                            if (tileNum <= board.getHeight() * board.getWidth()) {
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                        if (!edges[3].isDrawn) {
-                            destX = pawnCoord[0] + 1;
-                            destY = pawnCoord[1] - 1;
-                            tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                            if (tileNum <= board.getHeight() * board.getWidth()) {
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                    }
-                }
-            }
-            else if (teamNum == 0 && adjPawnX < pawnCoord[0]) {
-                int destX = adjPawnX - 1;
-                int destY = pawnCoord[1];
-                int tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                if (!(tileNum < 1)) {
-                    if (!edges[0].isDrawn) {
-                        specialValidTiles.add(tileNum);
-                    }
-                    else {
-                        if (!edges[1].isDrawn) {
-                            destX = pawnCoord[0] - 1;
-                            destY = pawnCoord[1] + 1;
-                            tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                            if (tileNum <= board.getHeight() * board.getWidth()) {
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                        if (!edges[3].isDrawn) {
-                            destX = pawnCoord[0] - 1;
-                            destY = pawnCoord[1] - 1;
-                            tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                            if (tileNum <= board.getHeight() * board.getWidth()) {
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                    }
-                }
-            }
-            else if (teamNum == 2 && adjPawnY > pawnCoord[1]) {
-                int destX = pawnCoord[0];
-                int destY = adjPawnY + 1;
-                int tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                if (!(destY >= board.getWidth())) {
-                    if (!edges[1].isDrawn) {
-                        specialValidTiles.add(tileNum);
-                    }
-                    else {
-                        if (!edges[0].isDrawn) {
-                            destX = pawnCoord[0] - 1;
-                            destY = pawnCoord[1] + 1;
-                            if (destX >= 0) {
-                                tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                        if (!edges[2].isDrawn) {
-                            destX = pawnCoord[0] + 1;
-                            destY = pawnCoord[1] + 1;
-                            if (destX < board.getHeight()) {
-                                tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                    }
-                }
-            }
-            else if (teamNum == 3 && adjPawnY < pawnCoord[1]) {
-                int destX = pawnCoord[0];
-                int destY = adjPawnY - 1;
-                int tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                if (!(destY < 0)) {
-                    if (!edges[3].isDrawn) {
-                        specialValidTiles.add(tileNum);
-                    }
-                    else {
-                        if (!edges[0].isDrawn) {
-                            destX = pawnCoord[0] - 1;
-                            destY = pawnCoord[1] - 1;
-                            if (destX >= 0) {
-                                tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                        if (!edges[2].isDrawn) {
-                            destX = pawnCoord[0] + 1;
-                            destY = pawnCoord[1] - 1;
-                            if (destX < board.getHeight()) {
-                                tileNum = Utility.convert2Dto1D(destX, destY, board.getWidth());
-                                specialValidTiles.add(tileNum);
-                            }
-                        }
-                    }
-                }
-            }
+    private int[] getPawnTiles(){
+        int[] pawnTiles = new int[teams.length];
+        for (int i = 0; i < teams.length; i++){
+            pawnTiles[i] = pawnPositions[i] - 1;
         }
-        return specialValidTiles;
+        return pawnTiles;
     }
 
-
-    private int[][] get2DPawnPositions (){
-        int[][] positions = new int[teams.length][2];
-        for (int i = 0; i < teams.length ; i++){
-            positions[i] = Utility.convert1Dto2D(pawnPositions[i], board.getWidth());
-        }
-        return positions;
-    }
-
-    private List<int[]> getAdjPawnCoordsAndDirection(int[] targetPawnCoord, int[][] OtherPawnCoords) {
-        List<int[]> adjPawnCoords = new ArrayList<>();
-        for (int[] coord : OtherPawnCoords) {
-            // Skip comparison with itself
-            if (coord[0] == targetPawnCoord[0] && coord[1] == targetPawnCoord[1]) {
-                continue;
-            }
-
-            // Check left
-            if (targetPawnCoord[0] == coord[0] && targetPawnCoord[1] - 1 == coord[1]) {
-                // coord is above targetCoord
-                adjPawnCoords.add(new int[] {coord[0],  coord[1], 3});
-            }
-            // Check below
-            if (targetPawnCoord[0] + 1 == coord[0] && targetPawnCoord[1] == coord[1]) {
-//                return 1; // coord is to the right of targetCoord
-                adjPawnCoords.add(new int[] {coord[0],  coord[1], 2});
-            }
-            // Check right
-            if (targetPawnCoord[0] == coord[0] && targetPawnCoord[1] + 1 == coord[1]) {
-               // coord is below targetCoord
-                adjPawnCoords.add(new int[] {coord[0],  coord[1], 1});
-            }
-            // Check above
-            if (targetPawnCoord[0] - 1 == coord[0] && targetPawnCoord[1] == coord[1]) {
-                 // coord is to the left of targetCoord
-                adjPawnCoords.add(new int[] {coord[0],  coord[1], 0});
-            }
-        }
-        // No directly adjacent coordinate found
-        if (adjPawnCoords.isEmpty()){
-            return null;
-        }
-
-       return adjPawnCoords;
-    }
-
-    private boolean isDirectionBlockedByPawn (int dir, List<int[]> adjPawnCoords){
-        if (adjPawnCoords == null){
-            return false;
-        }
-        for (int[] coords : adjPawnCoords) {
-            if (coords[2] == dir) {
-               return true;
-            }
-        }
-        return false;
-    }
-
-
-
+    /**
+     * Returns true if every pawn can still reach its goal side, i.e. no wall cuts a team off.
+     */
     private boolean checkIfPawnPathsBlocked (){
-        int [][] winningLocations = findTeamWinLocations();
-
         for (int i = 0 ; i< teams.length; i++){
-            int[] coords = Utility.convert1Dto2D(pawnPositions[i], board.getWidth());
-            boolean checkRow = winningLocations[i][1] == 0;
-            if(!board.canReachTarget(coords[0], coords[1], winningLocations[i][0], winningLocations[i][0], checkRow)){
+            if (distances.distance(i, pawnPositions[i] - 1) == QuoridorDistanceField.UNREACHABLE){
                 return false;
-            };
-        }
-
-        return true;
-    }
-
-    private int[][] findTeamWinLocations(){
-        //team order: bottom top left right
-
-        //[team number] [row/col number , 0= row, 1=col]
-        int[][] winningLocations = new int [teams.length][2];
-
-        for (int i = 0 ; i< teams.length; i++){
-            if ( i == 0){
-                winningLocations[i][0] = 0; //row 0
-                winningLocations[i][1] = 0;
-            }
-            else if (i == 1){
-                winningLocations[i][0] = board.getHeight()-1; //last row
-                winningLocations[i][1] = 0;
             }
-            else if (i == 2){
-                winningLocations[i][0] = board.getWidth()-1; //last col
-                winningLocations[i][1] = 1;
-            }
-            else{
-                winningLocations[i][0] = 0; //first col
-                winningLocations[i][1] = 1;
-            }
-
         }
-        return winningLocations;
+        return true;
     }
 
 
@@ -0,0 +1,105 @@
+/**
+ * Generates the tiles a Quoridor pawn can move to. A pawn steps to a neighboring tile unless a wall is in the
+ * way. If the neighbor holds another pawn it jumps straight over it, and if a wall, the border or a third pawn
+ * is behind that pawn it may instead move to either side of it (a diagonal jump), again unless walls are in
+ * the way.
+ *
+ * Tiles are row-major and 0-based. The neighbor of every tile on every side, the tile two steps away and the
+ * edges crossed on the way are tables built once per board, and walls are read from the board's
+ * EdgeBitboard, so generating moves is a few table lookups and bit tests. Moves are written into an array
+ * the caller owns and nothing is allocated.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class QuoridorMoveGenerator {
+
+    //the most moves a pawn can have: four steps, or up to two diagonal jumps per side
+    public static final int MAX_MOVES = 8;
+
+    private final EdgeBitboard edges;
+    private final int[] neighbors;     //the tile across each side of each tile at [tile * 4 + side], -1 off the board
+    private final int[] neighborEdges; //the edge between them
+    private final int[] jumps;         //the tile two steps away on each side, -1 off the board
+
+    public QuoridorMoveGenerator(EdgeBitboard edges) {
+        this.edges = edges;
+        int width = edges.getWidth();
+        int size = width * edges.getHeight();
+        this.neighbors = new int[size * 4];
+        this.neighborEdges = new int[size * 4];
+        this.jumps = new int[size * 4];
+        for (int tile = 0; tile < size; tile++) {
+            for (int side = 0; side < 4; side++) {
+                int edge = edges.boxEdge(tile / width, tile % width, side);
+                neighbors[tile * 4 + side] = edges.edgeBox(edge, 0) == tile ? edges.edgeBox(edge, 1) : edges.edgeBox(edge, 0);
+                neighborEdges[tile * 4 + side] = edge;
+            }
+        }
+        for (int tile = 0; tile < size; tile++) {
+            for (int side = 0; side < 4; side++) {
+                int next = neighbors[tile * 4 + side];
+                jumps[tile * 4 + side] = next == -1 ? -1 : neighbors[next * 4 + side];
+            }
+        }
+    }
+
+    /**
+     * Writes every tile the pawn on tile can move to into moves (at least MAX_MOVES long) and returns how many
+     * there are. pawns holds the tiles of all pawns on the board, the moving one included.
+     */
+    public int generate(int tile, int[] pawns, int[] moves) {
+        int count = 0;
+        for (int side = 0; side < 4; side++) {
+            int next = open(tile, side);
+            if (next == -1) {
+                continue;
+            }
+            if (!isOccupied(next, pawns)) {
+                moves[count++] = next;
+                continue;
+            }
+            int jump = jumps[tile * 4 + side];
+            if (jump != -1 && !edges.isDrawn(neighborEdges[next * 4 + side]) && !isOccupied(jump, pawns)) {
+                moves[count++] = jump;
+                continue;
+            }
+            //blocked behind the other pawn: try both sides of it
+            for (int turn = 1; turn <= 3; turn += 2) {
+                int diagonal = open(next, (side + turn) & 3);
+                if (diagonal != -1 && !isOccupied(diagonal, pawns) && !contains(moves, count, diagonal)) {
+                    moves[count++] = diagonal;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The tile across side of tile if no wall is in the way, otherwise -1.
+     */
+    private int open(int tile, int side) {
+        int next = neighbors[tile * 4 + side];
+        return next != -1 && !edges.isDrawn(neighborEdges[tile * 4 + side]) ? next : -1;
+    }
+
+    private static boolean isOccupied(int tile, int[] pawns) {
+        for (int pawn : pawns) {
+            if (pawn == tile) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //two pawns next to each other can offer the same diagonal tile
+    private static boolean contains(int[] moves, int count, int tile) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == tile) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Measures how the parallel sliding puzzle solver scales with the number of threads. A fixed, seeded set of
+ * positions is generated by random walks from the solved board, solved once with the single-threaded solver
+ * as the baseline, and then solved with 1, 2, 4, ... threads up to the cap. For each run it prints the total
+ * time, nodes per second and speedup over the baseline, and checks that every solution has the optimal length.
+ *
+ * Usage: java SlidingPuzzleBenchmark [width] [height] [positions] [walk length] [max threads] [seed]
+ * (defaults: 4 4 10 1000 available cores 42). A pattern database from pdb/ is used when one exists.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SlidingPuzzleBenchmark {
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int walkLength = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int maxThreads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+
+        PatternDatabase pdb = PatternDatabase.loadIfPresent(width, height);
+        System.out.println("Board " + width + "x" + height + ", " + count + " positions, "
+                + (pdb == null ? "no pattern database" : "pattern database loaded")
+                + ", " + Runtime.getRuntime().availableProcessors() + " cores available");
+
+        int[][] positions = new int[count][width * height];
+        PuzzleGenerator generator = new PuzzleGenerator(width, height, seed);
+        for (int i = 0; i < count; i++) {
+            generator.randomWalk(positions[i], walkLength);
+        }
+
+        SlidingPuzzleSolver serial = new SlidingPuzzleSolver(width, height);
+        serial.setPatternDatabase(pdb);
+        int[] optimal = new int[count];
+        long serialNanos = 0;
+        long serialNodes = 0;
+        for (int i = 0; i < count; i++) {
+            optimal[i] = serial.solve(positions[i]).length;
+            serialNanos += serial.getElapsedNanos();
+            serialNodes += serial.getNodesExpanded();
+        }
+        printRow("serial", serialNanos, serialNodes, serialNanos);
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            ParallelSlidingPuzzleSolver parallel = new ParallelSlidingPuzzleSolver(width, height, threads);
+            parallel.setPatternDatabase(pdb);
+            long nanos = 0;
+            long nodes = 0;
+            for (int i = 0; i < count; i++) {
+                int[] solution = parallel.solve(positions[i]);
+                if (solution.length != optimal[i]) {
+                    System.out.println("Position " + i + ": expected " + optimal[i] + " moves but got " + solution.length);
+                }
+                nanos += parallel.getElapsedNanos();
+                nodes += parallel.getNodesExpanded();
+            }
+            parallel.shutdown();
+            printRow(threads + (threads == 1 ? " thread" : " threads"), nanos, nodes, serialNanos);
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+    private static void printRow(String label, long nanos, long nodes, long baselineNanos) {
+        long millis = nanos / 1_000_000;
+        long nodesPerSecond = nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        System.out.println(String.format("%-12s %8d ms %14d nodes %12d nodes/s  speedup %.2fx",
+                label, millis, nodes, nodesPerSecond, nanos == 0 ? 0.0 : (double) baselineNanos / nanos));
+    }
+}
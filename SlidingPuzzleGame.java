@@ -16,9 +16,16 @@ public class SlidingPuzzleGame extends Game{
     private final static int numPlayers = 1;
     private final static String gameName = "Sliding Puzzle";
     private Player player;
-    private Board board;
-    private Tile emptyTile;
+    private PackedBoard board;
+    private int emptyIndex;
+    private int tilesInPlace; //tiles holding their own number, kept up to date by swapEmptyPiece
+    private long positionKey; //Zobrist key of the tiles, also kept up to date by swapEmptyPiece
+    private long[] tileKeys;  //key of tile t on cell c at [c * size + t]
+    private SlidingPuzzleSolver solver;
+    private HintService hints;
     private Difficulty difficulty;
+    //puzzle banks by board size (width * (maxSize + 1) + height), read once; a size without a bank maps to null
+    private static final Map<Integer, PuzzleBank> banks = new HashMap<>();
 
 
     public SlidingPuzzleGame(){
@@ -40,7 +47,7 @@ public class SlidingPuzzleGame extends Game{
         System.out.println("Thank you, " + player.getpName() + ", please set your board size:");
 
         int[] boardDimensions = ConsoleController.inputBoardDim();
-        board = new Board(boardDimensions[0], boardDimensions[1]);
+        board = new PackedBoard(boardDimensions[0], boardDimensions[1]);
 
         reset();
 
@@ -56,13 +63,21 @@ public class SlidingPuzzleGame extends Game{
         int choice= 0;
         boolean saySomething = true;
         while(!checkWinCondition()){
-            List<Integer> availableSwaps = convertTilesToInts(board.findAdjacentTiles(emptyTile));
+            List<Integer> availableSwaps = new ArrayList<>(4);
+            for (int k = 0; k < board.getNeighborCount(emptyIndex); k++){
+                availableSwaps.add(board.getCell(board.getNeighbor(emptyIndex, k)));
+            }
             Collections.sort(availableSwaps);
             boolean inputCondition = true;
             render();
-            String prompt = player.getpName() +", which tile do you want to slide to the empty space?";
-            choice = Input.getIntInput(availableSwaps.get(0), availableSwaps.get(availableSwaps.size()-1), prompt);
-            updateGameState(choice);
+            String prompt = player.getpName() +", which tile do you want to slide to the empty space? (enter 0 for a hint)";
+            choice = Input.getIntInput(0, availableSwaps.get(availableSwaps.size()-1), prompt);
+            if (choice == 0){
+                showHint();
+            }
+            else{
+                updateGameState(choice);
+            }
         }
         end();
     }
@@ -78,33 +93,29 @@ public class SlidingPuzzleGame extends Game{
     @Override
     void reset() {
         this.board.numberBoardTiles();
-        emptyTile = board.getTile( board.getHeight()-1, board.getWidth()-1);
-        emptyTile.setPiece( new Piece<Character>(' '));
+        emptyIndex = board.size() - 1;
+        board.setCell(emptyIndex, PackedBoard.EMPTY);
+        tilesInPlace = board.size() - 1;
+        computePositionKey();
+        board.invalidateRender();
     }
 
     @Override
     boolean checkWinCondition() {
-
-        Tile[] flattenedArray = board.flattenBoard();
-
-        for(int i = 1; i < flattenedArray.length - 1; i++){ //we should not reach the end of the board
-            if(flattenedArray[i-1].equals(emptyTile)||flattenedArray[i].equals(emptyTile)){
-                return false; //empty tile is in the current two tiles, board is not sorted
-            }
-            else if((Integer) flattenedArray[i-1].getPiece().getType() > (Integer) flattenedArray[i].getPiece().getType()){
-                return false;
-            }
+        if (tilesInPlace != board.size() - 1){
+            return false;
         }
-        player.setNumWins(player.getNumWins()+1);;
+        player.setNumWins(player.getNumWins()+1);
         return true;
     }
 
     @Override
     void updateGameState(int toSwap) {
-        List<Tile> neighbours = board.findAdjacentTiles(emptyTile);
-        for(Tile t: neighbours){
-            if ((Integer) t.getPiece().getType() == toSwap){ //toSwap must be in the neighbors list
-                swapEmptyPiece(t);
+        for (int k = 0; k < board.getNeighborCount(emptyIndex); k++){
+            int neighbor = board.getNeighbor(emptyIndex, k);
+            if (board.getCell(neighbor) == toSwap){ //toSwap must be in the neighbors list
+                swapEmptyPiece(neighbor);
+                return;
             }
         }
     }
@@ -115,46 +126,118 @@ public class SlidingPuzzleGame extends Game{
     }
 
 
+    /**
+     * Shuffles the board. If a puzzle bank was built for this board size, the puzzle is drawn from the bank:
+     * easy, medium and hard take the lower, middle and upper third of its optimal solution lengths.
+     * Otherwise easy and medium boards are random walks from the solved board, about as long as the board
+     * has cells for easy and three times that for medium, and hard boards are uniformly random.
+     * Walk lengths are odd so the blank never ends on its home cell, which keeps the board from being solved.
+     */
     void createValidBoardState(Difficulty difficulty){
-        int numSwaps;
+        int[] cells = board.getCells();
 
-        if (difficulty.equals(Difficulty.EASY)){
-            numSwaps = 3;
+        if (!drawFromBank(difficulty, cells)){
+            PuzzleGenerator generator = new PuzzleGenerator(board.getWidth(), board.getHeight());
+            if (difficulty.equals(Difficulty.EASY)){
+                generator.randomWalk(cells, board.size() | 1);
+            }
+            else if (difficulty.equals(Difficulty.MEDIUM)){
+                generator.randomWalk(cells, 3 * board.size() | 1);
+            }
+            else{
+                generator.generate(cells);
+            }
         }
-        else if (difficulty.equals(Difficulty.MEDIUM)){
-            numSwaps = 6;
+
+        tilesInPlace = 0;
+        for (int i = 0; i < cells.length; i++){
+            if (cells[i] == PackedBoard.EMPTY){
+                emptyIndex = i;
+            }
+            else if (cells[i] == i + 1){
+                tilesInPlace++;
+            }
         }
-        else{
-            numSwaps = 10;
+        computePositionKey();
+    }
+
+    private boolean drawFromBank(Difficulty difficulty, int[] cells){
+        int key = board.getWidth() * (maxSize + 1) + board.getHeight();
+        if (!banks.containsKey(key)){
+            banks.put(key, PuzzleBank.loadIfPresent(board.getWidth(), board.getHeight()));
         }
+        PuzzleBank bank = banks.get(key);
+        if (bank == null || bank.size() == 0){
+            return false;
+        }
+        int shortest = bank.getMinLength();
+        int third = (bank.getMaxLength() - shortest + 1 + 2) / 3;
+        int band = difficulty.equals(Difficulty.EASY) ? 0 : difficulty.equals(Difficulty.MEDIUM) ? 1 : 2;
+        int min = shortest + band * third;
+        return bank.draw(min, min + third - 1, new SplittableRandom(), cells) != -1;
+    }
 
-        Random random = new Random();
-        for (int i=numSwaps; i > 0; i--){
-            List<Tile> neighbours = board.findAdjacentTiles(emptyTile);
-            Tile randomNeighbor = neighbours.get(random.nextInt(neighbours.size()));
-            swapEmptyPiece(randomNeighbor);
+    /**
+     * Computes an optimal solution from the current position.
+     * @return the tiles to slide, in order, or null if the position cannot be solved
+     */
+    public int[] solve(){
+        if (solver == null || solver.getWidth() != board.getWidth() || solver.getHeight() != board.getHeight()){
+            solver = new SlidingPuzzleSolver(board.getWidth(), board.getHeight());
+            solver.setPatternDatabase(PatternDatabase.loadIfPresent(board.getWidth(), board.getHeight()));
         }
+        return solver.solve(board.getCells());
+    }
 
+    private void showHint(){
+        if (hints == null || hints.getWidth() != board.getWidth() || hints.getHeight() != board.getHeight()){
+            hints = new HintService(board.getWidth(), board.getHeight());
+        }
+        HintService.Hint hint = hints.getHint(board.getCells());
+        if (hint == null){
+            System.out.println("Sorry, this puzzle cannot be solved from here.");
+        }
+        else if (hint.isOptimal()){
+            System.out.println("Hint: slide tile " + hint.getTile() + ". The puzzle can be solved in " + hint.getMovesLeft() + " more moves.");
+        }
+        else{
+            System.out.println("Hint: slide tile " + hint.getTile() + ", it leads towards a solution (not necessarily the shortest).");
+        }
     }
 
-    private int[] getEmptyTileCoords(){
-        return board.getTileCoords(emptyTile);
+    /**
+     * Returns the Zobrist key of the current position.
+     */
+    public long getPositionKey(){
+        return positionKey;
     }
 
-    private void swapEmptyPiece(Tile t2){
-        Piece placeHolder = emptyTile.getPiece();
-        emptyTile.setPiece(t2.getPiece());
-        t2.setPiece(placeHolder);
-        emptyTile = t2;
+    private void computePositionKey(){
+        int size = board.size();
+        if (tileKeys == null || tileKeys.length != size * size){
+            tileKeys = Zobrist.keys(Zobrist.TILES, size * size);
+        }
+        positionKey = 0;
+        for (int i = 0; i < size; i++){
+            positionKey ^= tileKeys[i * size + board.getCell(i)];
+        }
     }
 
-    private List<Integer> convertTilesToInts(List<Tile> list){
-        List<Integer> ret= new ArrayList<>();
-        for(Tile t: list){
-            ret.add((Integer) t.getPiece().getType());
+    private void swapEmptyPiece(int index){
+        int tile = board.getCell(index);
+        if (tile == index + 1){
+            tilesInPlace--;
+        }
+        if (tile == emptyIndex + 1){
+            tilesInPlace++;
         }
-        return ret;
+        int size = board.size();
+        positionKey ^= tileKeys[emptyIndex * size + PackedBoard.EMPTY] ^ tileKeys[emptyIndex * size + tile]
+                ^ tileKeys[index * size + tile] ^ tileKeys[index * size + PackedBoard.EMPTY];
+        board.swapCells(emptyIndex, index);
+        emptyIndex = index;
     }
+
     @Override
     public int getNumPlayers() {
         return numPlayers;
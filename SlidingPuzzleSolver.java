@@ -0,0 +1,464 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds optimal solutions for sliding puzzles of any width and height with iterative deepening A* (IDA*).
+ * The heuristic is the Manhattan distance plus linear conflicts, both kept up to date incrementally as
+ * tiles move: a move changes the Manhattan distance of one tile and only the conflicts of the two rows
+ * (or columns) it moves between. The search works on a flat int array where 0 is the blank and tile t
+ * belongs at index t - 1, the same layout as PackedBoard, and does not allocate while searching.
+ * When a PatternDatabase is set, the heuristic is the larger of that estimate and Manhattan plus
+ * linear conflicts; only the group of the tile that moved is looked up again after each move.
+ * ParallelSlidingPuzzleSolver runs one instance per worker thread on subtrees of the search.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SlidingPuzzleSolver {
+
+    private static final int FOUND = -1;
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final int[] fenwick;        //scratch for counting inversions
+
+    private final int[] neighbors;      //up to 4 neighbors per cell at [cell * 4], clockwise from the top
+    private final int[] neighborCounts;
+    private final int[] manhattan;      //distance of tile t from cell c at [t * size + c]
+
+    private final int[] tiles;
+    private final int[] positions;      //cell of each tile, kept for pattern database lookups
+    private int blank;
+    private int manhattanSum;
+    private final int[] rowConflicts;
+    private final int[] colConflicts;
+    private int conflictSum;
+
+    private PatternDatabase patternDatabase;
+    private int[] groupEstimates;
+    private int patternSum;
+
+    private final int[] lineScratch;
+    private final int[] lisScratch;
+    private int[] path = new int[128];
+    private int solutionLength;
+
+    private long nodes;
+    private long elapsedNanos;
+    private AtomicBoolean cancelled; //set by another thread to stop a subtree search early, may be null
+    private long deadline;           //System.nanoTime() after which solve gives up, 0 for none
+    private boolean timedOut;
+    private int weight = 1;
+
+    public SlidingPuzzleSolver(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.fenwick = new int[size];
+
+        neighbors = new int[size * 4];
+        neighborCounts = new int[size];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                int cell = r * width + c;
+                int n = 0;
+                if (r != 0) {
+                    neighbors[cell * 4 + n++] = cell - width;
+                }
+                if (c != width - 1) {
+                    neighbors[cell * 4 + n++] = cell + 1;
+                }
+                if (r != height - 1) {
+                    neighbors[cell * 4 + n++] = cell + width;
+                }
+                if (c != 0) {
+                    neighbors[cell * 4 + n++] = cell - 1;
+                }
+                neighborCounts[cell] = n;
+            }
+        }
+
+        manhattan = new int[size * size];
+        for (int t = 1; t < size; t++) {
+            int goal = t - 1;
+            for (int c = 0; c < size; c++) {
+                manhattan[t * size + c] = Math.abs(goal / width - c / width) + Math.abs(goal % width - c % width);
+            }
+        }
+
+        tiles = new int[size];
+        positions = new int[size];
+        rowConflicts = new int[height];
+        colConflicts = new int[width];
+        lineScratch = new int[Math.max(width, height)];
+        lisScratch = new int[Math.max(width, height)];
+    }
+
+    /**
+     * Uses a pattern database (built for this board size) to strengthen the heuristic, or none if null.
+     */
+    public void setPatternDatabase(PatternDatabase pdb) {
+        if (pdb != null && (pdb.getWidth() != width || pdb.getHeight() != height)) {
+            throw new IllegalArgumentException("Pattern database is for a different board size");
+        }
+        patternDatabase = pdb;
+        groupEstimates = pdb == null ? null : new int[pdb.getGroupCount()];
+    }
+
+    /**
+     * Makes solve give up and return null once System.nanoTime() passes the deadline; 0 removes the limit.
+     */
+    public void setDeadline(long nanoTime) {
+        deadline = nanoTime;
+    }
+
+    /**
+     * Multiplies the heuristic by weight during the search. Weights above 1 find solutions far faster but
+     * they may be up to weight times longer than optimal; 1 (the default) keeps solutions optimal.
+     */
+    public void setWeight(int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be at least 1");
+        }
+        this.weight = weight;
+    }
+
+    /**
+     * Returns whether the last solve stopped at the deadline rather than proving the position unsolvable.
+     */
+    public boolean hasTimedOut() {
+        return timedOut;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Solves the puzzle and returns the tiles to slide into the blank, in order, or null if the position
+     * cannot be solved. An already solved position returns an empty array. The start array is not modified.
+     */
+    public int[] solve(int[] start) {
+        long begin = System.nanoTime();
+        nodes = 0;
+        timedOut = false;
+        try {
+            if (!isSolvable(start, width, height, fenwick)) {
+                return null;
+            }
+            load(start);
+            int bound = weight * heuristic();
+            while (true) {
+                ensurePathCapacity(bound);
+                int t = search(0, bound, -1);
+                if (t == FOUND) {
+                    int[] solution = new int[solutionLength];
+                    System.arraycopy(path, 0, solution, 0, solutionLength);
+                    return solution;
+                }
+                if (t == NOT_FOUND) {
+                    return null;
+                }
+                bound = t;
+            }
+        }
+        finally {
+            elapsedNanos = System.nanoTime() - begin;
+        }
+    }
+
+    /**
+     * Returns the heuristic estimate of a position, a lower bound on its solution length.
+     */
+    public int estimate(int[] position) {
+        load(position);
+        return heuristic();
+    }
+
+    public long getNodesExpanded() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Checks whether a position can reach the solved state (blank in the last cell) by counting inversions:
+     * on odd widths the inversion count must be even, on even widths the inversion count plus the blank's
+     * distance from the bottom row must be even.
+     */
+    public static boolean isSolvable(int[] position, int width, int height) {
+        return isSolvable(position, width, height, new int[width * height]);
+    }
+
+    /**
+     * Same as isSolvable(position, width, height), counting with a caller-owned scratch array of
+     * width * height ints so it does not allocate.
+     */
+    public static boolean isSolvable(int[] position, int width, int height, int[] fenwick) {
+        int inversions = countInversions(position, fenwick);
+        if (width % 2 == 1) {
+            return (inversions & 1) == 0;
+        }
+        int blankRow = 0;
+        for (int i = 0; i < position.length; i++) {
+            if (position[i] == 0) {
+                blankRow = i / width;
+                break;
+            }
+        }
+        return ((inversions + height - 1 - blankRow) & 1) == 0;
+    }
+
+    /**
+     * Counts pairs of tiles (ignoring the blank) that appear in the opposite order of their numbers in
+     * O(n log n), using a Fenwick tree (at least position.length ints) of the tiles seen so far.
+     */
+    public static int countInversions(int[] position, int[] fenwick) {
+        Arrays.fill(fenwick, 0, position.length, 0);
+        int inversions = 0;
+        int seen = 0;
+        for (int i = 0; i < position.length; i++) {
+            int tile = position[i];
+            if (tile == 0) {
+                continue;
+            }
+            int smaller = 0;
+            for (int k = tile; k > 0; k -= k & -k) {
+                smaller += fenwick[k];
+            }
+            inversions += seen - smaller;
+            for (int k = tile; k < position.length; k += k & -k) {
+                fenwick[k]++;
+            }
+            seen++;
+        }
+        return inversions;
+    }
+
+    /**
+     * Searches below a position that was reached after g moves, blank last at previousBlank (-1 if none),
+     * and returns -1 if a solution within bound was found or else the smallest f above the bound. The moves
+     * from depth g onward can then be read with getPathMove. Nodes are counted from zero for every call.
+     */
+    int searchFrom(int[] position, int g, int bound, int previousBlank) {
+        nodes = 0;
+        timedOut = false;
+        load(position);
+        ensurePathCapacity(bound);
+        return search(g, bound, previousBlank);
+    }
+
+    int getPathMove(int depth) {
+        return path[depth];
+    }
+
+    /**
+     * Makes searchFrom give up (returning a value above any bound) once the flag is set.
+     */
+    void setCancelFlag(AtomicBoolean flag) {
+        cancelled = flag;
+    }
+
+    private int search(int g, int bound, int previousBlank) {
+        if (cancelled != null && cancelled.get()) {
+            return NOT_FOUND;
+        }
+        if (deadline != 0 && (nodes & 0x3FF) == 0 && System.nanoTime() - deadline > 0) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return NOT_FOUND;
+        }
+        int h = Math.max(manhattanSum + conflictSum, patternSum);
+        int f = g + weight * h;
+        if (f > bound) {
+            return f;
+        }
+        if (h == 0) {
+            solutionLength = g;
+            return FOUND;
+        }
+
+        int min = NOT_FOUND;
+        int from = blank;
+        for (int k = 0; k < neighborCounts[from]; k++) {
+            int cell = neighbors[from * 4 + k];
+            if (cell == previousBlank) {
+                continue;
+            }
+            int tile = tiles[cell];
+            nodes++;
+
+            //slide tile from cell into the blank at from
+            int savedManhattan = manhattanSum;
+            int savedConflicts = conflictSum;
+            tiles[from] = tile;
+            tiles[cell] = 0;
+            blank = cell;
+            manhattanSum += manhattan[tile * size + from] - manhattan[tile * size + cell];
+
+            int savedPattern = patternSum;
+            int group = -1;
+            int savedGroup = 0;
+            if (patternDatabase != null) {
+                positions[tile] = from;
+                group = patternDatabase.getGroupOf(tile);
+                savedGroup = groupEstimates[group];
+                groupEstimates[group] = patternDatabase.estimateGroup(group, positions);
+                patternSum += groupEstimates[group] - savedGroup;
+            }
+
+            boolean horizontal = cell / width == from / width;
+            int lineA;
+            int lineB;
+            int savedA;
+            int savedB;
+            if (horizontal) {
+                lineA = cell % width;
+                lineB = from % width;
+                savedA = colConflicts[lineA];
+                savedB = colConflicts[lineB];
+                colConflicts[lineA] = columnConflicts(lineA);
+                colConflicts[lineB] = columnConflicts(lineB);
+                conflictSum += colConflicts[lineA] + colConflicts[lineB] - savedA - savedB;
+            }
+            else {
+                lineA = cell / width;
+                lineB = from / width;
+                savedA = rowConflicts[lineA];
+                savedB = rowConflicts[lineB];
+                rowConflicts[lineA] = rowConflicts(lineA);
+                rowConflicts[lineB] = rowConflicts(lineB);
+                conflictSum += rowConflicts[lineA] + rowConflicts[lineB] - savedA - savedB;
+            }
+
+            path[g] = tile;
+            int t = search(g + 1, bound, from);
+            if (t == FOUND) {
+                return FOUND;
+            }
+
+            //undo the move
+            tiles[cell] = tile;
+            tiles[from] = 0;
+            blank = from;
+            manhattanSum = savedManhattan;
+            conflictSum = savedConflicts;
+            if (group != -1) {
+                positions[tile] = cell;
+                groupEstimates[group] = savedGroup;
+                patternSum = savedPattern;
+            }
+            if (horizontal) {
+                colConflicts[lineA] = savedA;
+                colConflicts[lineB] = savedB;
+            }
+            else {
+                rowConflicts[lineA] = savedA;
+                rowConflicts[lineB] = savedB;
+            }
+
+            if (t < min) {
+                min = t;
+            }
+        }
+        return min;
+    }
+
+    private void load(int[] position) {
+        System.arraycopy(position, 0, tiles, 0, size);
+        manhattanSum = 0;
+        for (int c = 0; c < size; c++) {
+            positions[tiles[c]] = c;
+            if (tiles[c] == 0) {
+                blank = c;
+            }
+            else {
+                manhattanSum += manhattan[tiles[c] * size + c];
+            }
+        }
+        conflictSum = 0;
+        for (int r = 0; r < height; r++) {
+            rowConflicts[r] = rowConflicts(r);
+            conflictSum += rowConflicts[r];
+        }
+        for (int c = 0; c < width; c++) {
+            colConflicts[c] = columnConflicts(c);
+            conflictSum += colConflicts[c];
+        }
+        patternSum = 0;
+        if (patternDatabase != null) {
+            for (int g = 0; g < groupEstimates.length; g++) {
+                groupEstimates[g] = patternDatabase.estimateGroup(g, positions);
+                patternSum += groupEstimates[g];
+            }
+        }
+    }
+
+    private int heuristic() {
+        return Math.max(manhattanSum + conflictSum, patternSum);
+    }
+
+    /**
+     * Linear conflicts of a row: tiles that belong in this row but are out of order relative to each other.
+     * Each tile that has to leave the row to let the others pass costs two extra moves, and the fewest such
+     * tiles is the row length minus its longest increasing run of goal columns.
+     */
+    private int rowConflicts(int row) {
+        int n = 0;
+        for (int c = 0; c < width; c++) {
+            int tile = tiles[row * width + c];
+            if (tile != 0 && (tile - 1) / width == row) {
+                lineScratch[n++] = (tile - 1) % width;
+            }
+        }
+        return 2 * (n - longestIncreasing(n));
+    }
+
+    private int columnConflicts(int col) {
+        int n = 0;
+        for (int r = 0; r < height; r++) {
+            int tile = tiles[r * width + col];
+            if (tile != 0 && (tile - 1) % width == col) {
+                lineScratch[n++] = (tile - 1) / width;
+            }
+        }
+        return 2 * (n - longestIncreasing(n));
+    }
+
+    private int longestIncreasing(int n) {
+        int best = 0;
+        for (int i = 0; i < n; i++) {
+            int length = 1;
+            for (int j = 0; j < i; j++) {
+                if (lineScratch[j] < lineScratch[i] && lisScratch[j] + 1 > length) {
+                    length = lisScratch[j] + 1;
+                }
+            }
+            lisScratch[i] = length;
+            if (length > best) {
+                best = length;
+            }
+        }
+        return best;
+    }
+
+    private void ensurePathCapacity(int depth) {
+        if (path.length <= depth) {
+            path = new int[depth * 2];
+        }
+    }
+}
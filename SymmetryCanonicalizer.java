@@ -0,0 +1,311 @@
+import java.util.Arrays;
+
+/**
+ * Maps board positions to a canonical representative under the board's symmetries, so caches and tables
+ * keyed on positions store each family of mirrored or rotated positions once. A square board has 8
+ * symmetries (the rotations and reflections), any other board 4 (identity, half turn and the two mirrors).
+ * Positions can be cell contents (tiles, pawns), edge masks (drawn edges, walls) or both; the canonical form
+ * is the smallest transformed position, and the transform that produced it is returned so moves can be
+ * mapped between the two frames.
+ *
+ * Everything is precomputed as permutation tables when the canonicalizer is created: cells, edges, and for
+ * boards of up to 64 edges a lookup table per byte of the edge mask, so transforming a mask takes one lookup
+ * per byte. Nothing is allocated per call. Games whose rules are not symmetric under every transform (a pawn
+ * that must reach the bottom row does not survive a vertical flip) restrict the allowed transforms. Instances
+ * keep scratch buffers, so each thread needs its own.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SymmetryCanonicalizer {
+
+    public static final int IDENTITY = 0;
+    public static final int ROTATE_180 = 1;
+    public static final int MIRROR_LEFT_RIGHT = 2;
+    public static final int MIRROR_TOP_BOTTOM = 3;
+    public static final int ROTATE_90 = 4;
+    public static final int ROTATE_270 = 5;
+    public static final int TRANSPOSE = 6;
+    public static final int ANTI_TRANSPOSE = 7;
+
+    public static final int ALL_TRANSFORMS = 0xFF;
+
+    private final int width;
+    private final int height;
+    private final int transformCount;
+    private final int[][] cellMap;   //cellMap[t][cell]: where the cell ends up
+    private final int[][] cellFrom;  //cellFrom[t][cell]: which cell ends up here
+    private final int[][] edgeMap;
+    private final long[][] byteMaps; //byteMaps[t][byte * 256 + value]: the image of one byte of an edge mask
+    private int allowed;
+
+    private final long[] best;
+    private final long[] candidate;
+
+    public SymmetryCanonicalizer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.transformCount = width == height ? 8 : 4;
+        this.allowed = (1 << transformCount) - 1;
+
+        int cells = width * height;
+        cellMap = new int[transformCount][cells];
+        cellFrom = new int[transformCount][cells];
+        for (int t = 0; t < transformCount; t++) {
+            for (int cell = 0; cell < cells; cell++) {
+                int image = point(t, cell / width, cell % width, height, width);
+                cellMap[t][cell] = image;
+                cellFrom[t][image] = cell;
+            }
+        }
+
+        //an edge joins two dots of the (height + 1) x (width + 1) grid of dots; its image joins their images
+        EdgeBitboard board = new EdgeBitboard(width, height);
+        int edges = board.getEdgeCount();
+        edgeMap = new int[transformCount][edges];
+        for (int t = 0; t < transformCount; t++) {
+            for (int edge = 0; edge < edges; edge++) {
+                int row;
+                int col;
+                int endRow;
+                int endCol;
+                if (board.isHorizontal(edge)) {
+                    row = edge / width;
+                    col = edge % width;
+                    endRow = row;
+                    endCol = col + 1;
+                }
+                else {
+                    int index = edge - width * (height + 1);
+                    row = index / (width + 1);
+                    col = index % (width + 1);
+                    endRow = row + 1;
+                    endCol = col;
+                }
+                int a = point(t, row, col, height + 1, width + 1);
+                int b = point(t, endRow, endCol, height + 1, width + 1);
+                int first = Math.min(a, b);
+                int second = Math.max(a, b);
+                int firstRow = first / (width + 1);
+                int firstCol = first % (width + 1);
+                edgeMap[t][edge] = second == first + 1 ? board.horizontalEdge(firstRow, firstCol)
+                        : board.verticalEdge(firstRow, firstCol);
+            }
+        }
+
+        if (edges <= 64) {
+            int bytes = (edges + 7) / 8;
+            byteMaps = new long[transformCount][bytes * 256];
+            for (int t = 0; t < transformCount; t++) {
+                for (int b = 0; b < bytes; b++) {
+                    for (int value = 0; value < 256; value++) {
+                        long image = 0;
+                        for (int bit = 0; bit < 8 && b * 8 + bit < edges; bit++) {
+                            if ((value & (1 << bit)) != 0) {
+                                image |= 1L << edgeMap[t][b * 8 + bit];
+                            }
+                        }
+                        byteMaps[t][b * 256 + value] = image;
+                    }
+                }
+            }
+        }
+        else {
+            byteMaps = null;
+        }
+        best = new long[(edges + 63) / 64];
+        candidate = new long[best.length];
+    }
+
+    /**
+     * Where the point (row, col) of a rows x cols grid ends up under transform t, as a row-major index.
+     * Quarter turns and diagonal flips only occur on square grids, so the grid keeps its shape.
+     */
+    private static int point(int t, int row, int col, int rows, int cols) {
+        switch (t) {
+            case ROTATE_180:
+                return (rows - 1 - row) * cols + (cols - 1 - col);
+            case MIRROR_LEFT_RIGHT:
+                return row * cols + (cols - 1 - col);
+            case MIRROR_TOP_BOTTOM:
+                return (rows - 1 - row) * cols + col;
+            case ROTATE_90:
+                return col * cols + (rows - 1 - row);
+            case ROTATE_270:
+                return (cols - 1 - col) * cols + row;
+            case TRANSPOSE:
+                return col * cols + row;
+            case ANTI_TRANSPOSE:
+                return (cols - 1 - col) * cols + (rows - 1 - row);
+            default:
+                return row * cols + col;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns how many transforms the board has: 8 if it is square, otherwise 4.
+     */
+    public int getTransformCount() {
+        return transformCount;
+    }
+
+    /**
+     * Restricts canonicalization to the transforms whose bits are set (bit t for transform t); the identity is
+     * always allowed.
+     */
+    public void setAllowedTransforms(int mask) {
+        allowed = (mask | 1 << IDENTITY) & ((1 << transformCount) - 1);
+    }
+
+    public int getAllowedTransforms() {
+        return allowed;
+    }
+
+    /**
+     * Returns the transform that undoes t.
+     */
+    public static int inverse(int t) {
+        return t == ROTATE_90 ? ROTATE_270 : t == ROTATE_270 ? ROTATE_90 : t;
+    }
+
+    public int transformCell(int t, int cell) {
+        return cellMap[t][cell];
+    }
+
+    public int transformEdge(int t, int edge) {
+        return edgeMap[t][edge];
+    }
+
+    /**
+     * Writes the cell contents as they look after transform t into out, which must not be cells.
+     */
+    public void transformCells(int t, int[] cells, int[] out) {
+        int[] from = cellFrom[t];
+        for (int cell = 0; cell < out.length; cell++) {
+            out[cell] = cells[from[cell]];
+        }
+    }
+
+    /**
+     * Transforms an edge mask of a board of at most 64 edges.
+     */
+    public long transformEdges(int t, long mask) {
+        long[] map = byteMaps[t];
+        long image = 0;
+        for (int b = 0; mask != 0; b++, mask >>>= 8) {
+            image |= map[b * 256 + (int) (mask & 0xFF)];
+        }
+        return image;
+    }
+
+    /**
+     * Transforms an edge mask of any length (one bit per edge, as in EdgeBitboard.getWords) into out.
+     */
+    public void transformEdges(int t, long[] words, long[] out) {
+        if (byteMaps != null) {
+            out[0] = transformEdges(t, words[0]);
+            return;
+        }
+        int[] map = edgeMap[t];
+        Arrays.fill(out, 0L);
+        for (int w = 0; w < words.length; w++) {
+            for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                int image = map[w * 64 + Long.numberOfTrailingZeros(bits)];
+                out[image >>> 6] |= 1L << image;
+            }
+        }
+    }
+
+    /**
+     * Returns the allowed transform that maps the edge mask to its smallest image; the canonical mask is
+     * transformEdges(result, mask).
+     */
+    public int canonicalTransform(long mask) {
+        int bestTransform = IDENTITY;
+        long bestMask = mask;
+        for (int t = 1; t < transformCount; t++) {
+            if ((allowed & (1 << t)) == 0) {
+                continue;
+            }
+            long image = transformEdges(t, mask);
+            if (Long.compareUnsigned(image, bestMask) < 0) {
+                bestMask = image;
+                bestTransform = t;
+            }
+        }
+        return bestTransform;
+    }
+
+    /**
+     * Returns the allowed transform that gives the smallest cell contents, compared cell by cell.
+     */
+    public int canonicalTransform(int[] cells) {
+        int bestTransform = IDENTITY;
+        for (int t = 1; t < transformCount; t++) {
+            if ((allowed & (1 << t)) != 0 && compareCells(t, bestTransform, cells) < 0) {
+                bestTransform = t;
+            }
+        }
+        return bestTransform;
+    }
+
+    /**
+     * Returns the allowed transform that gives the smallest position of edges and pawns, comparing the edge
+     * masks first and then the pawn cells in order (pawn cells may be -1 for pawns off the board).
+     */
+    public int canonicalTransform(long[] words, int[] pawnCells) {
+        int bestTransform = IDENTITY;
+        System.arraycopy(words, 0, best, 0, best.length);
+        for (int t = 1; t < transformCount; t++) {
+            if ((allowed & (1 << t)) == 0) {
+                continue;
+            }
+            transformEdges(t, words, candidate);
+            int order = compareWords(candidate, best);
+            for (int i = 0; order == 0 && i < pawnCells.length; i++) {
+                order = Integer.compare(pawnImage(t, pawnCells[i]), pawnImage(bestTransform, pawnCells[i]));
+            }
+            if (order < 0) {
+                bestTransform = t;
+                System.arraycopy(candidate, 0, best, 0, best.length);
+            }
+        }
+        return bestTransform;
+    }
+
+    private int pawnImage(int t, int cell) {
+        return cell < 0 ? cell : cellMap[t][cell];
+    }
+
+    private int compareCells(int a, int b, int[] cells) {
+        int[] fromA = cellFrom[a];
+        int[] fromB = cellFrom[b];
+        for (int cell = 0; cell < cells.length; cell++) {
+            int order = Integer.compare(cells[fromA[cell]], cells[fromB[cell]]);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+
+    //the highest word decides first, so masks compare like the numbers they spell
+    private static int compareWords(long[] a, long[] b) {
+        for (int w = a.length - 1; w >= 0; w--) {
+            int order = Long.compareUnsigned(a[w], b[w]);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+}
@@ -7,17 +7,17 @@
  */
 public class Tile {
 
-    private Piece piece;
+    private Piece<?> piece;
 
-    public Tile(Piece p){
+    public Tile(Piece<?> p){
         piece = p;
     }
 
-    public Piece getPiece() {
+    public Piece<?> getPiece() {
         return piece;
     }
 
-    public void setPiece(Piece p){
+    public void setPiece(Piece<?> p){
         this.piece = p;
     }
 
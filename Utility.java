@@ -24,29 +24,34 @@ public class Utility {
      * returns the colorized string.
      */
     public static String colorString(String input, Integer colorCode) {
-        String coloredString;
+        String prefix = colorPrefix(colorCode);
+        if (prefix == null) {
+            return input;
+        }
+        return prefix + input + ANSI_RESET;
+    }
 
+    /**
+     * Returns the ANSI escape that starts the color used by colorString for the given color code,
+     * or null when that code leaves the string uncolored.
+     *
+     * colorCode: 0 for red, 1 for green, 2 for blue, 3 for yellow, -1 for magenta.
+     */
+    public static String colorPrefix(int colorCode) {
         switch (colorCode) {
             case 0:
-                coloredString = ANSI_RED + input + ANSI_RESET;
-                break;
+                return ANSI_RED;
             case 1:
-                coloredString = ANSI_GREEN + input + ANSI_RESET;
-                break;
+                return ANSI_GREEN;
             case 2:
-                coloredString = ANSI_BLUE + input + ANSI_RESET;
-                break;
+                return ANSI_BLUE;
             case 3:
-                coloredString = ANSI_YELLOW + input + ANSI_RESET;
-                break;
+                return ANSI_YELLOW;
             case -1:
-                coloredString = ANSI_MAGENTA + input + ANSI_RESET;
-                break;
+                return ANSI_MAGENTA;
             default:
-                coloredString = input;
+                return null;
         }
-
-        return coloredString;
     }
 
     /**
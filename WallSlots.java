@@ -0,0 +1,190 @@
+import java.util.Arrays;
+
+/**
+ * Every place a Quoridor wall can go, numbered as slots. A wall covers two edges in a line between the
+ * tiles: a horizontal slot covers two neighboring horizontal edges of one inner row of edges, a vertical slot
+ * two neighboring vertical edges of one inner column. Slots on the outer border are left out since the border
+ * is drawn from the start. Horizontal slots come first, row by row, then the vertical ones.
+ *
+ * For every slot a bitmask over the slots is precomputed of the slots that share an edge with it (itself and
+ * its two neighbors along the line) or cross it (the slot of the other direction with the same midpoint).
+ * The walls that have gone up are a bitmask too, so whether a slot is free is one AND per word of the mask
+ * (two words on a 9x9 board). Placing and removing walls draws and clears their edges on the board.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class WallSlots {
+
+    private final EdgeBitboard edges;
+    private final int width;
+    private final int height;
+    private final int horizontalSlots;
+    private final int slotCount;
+    private final int[] firstEdges;
+    private final int[] secondEdges;
+    private final int[] slotByFirstEdge; //the slot whose first edge is each edge, -1 if there is none
+    private final long[][] blockers;     //per slot, the slots that overlap or cross it, itself included
+    private final long[] placed;
+
+    public WallSlots(EdgeBitboard edges) {
+        this.edges = edges;
+        this.width = edges.getWidth();
+        this.height = edges.getHeight();
+        this.horizontalSlots = Math.max(0, height - 1) * Math.max(0, width - 1);
+        this.slotCount = 2 * horizontalSlots;
+        this.firstEdges = new int[slotCount];
+        this.secondEdges = new int[slotCount];
+        this.slotByFirstEdge = new int[edges.getEdgeCount()];
+        Arrays.fill(slotByFirstEdge, -1);
+        int words = (slotCount + 63) >>> 6;
+        this.blockers = new long[slotCount][words];
+        this.placed = new long[words];
+
+        for (int row = 1; row < height; row++) {
+            for (int col = 0; col < width - 1; col++) {
+                int slot = horizontalSlot(row, col);
+                firstEdges[slot] = edges.horizontalEdge(row, col);
+                secondEdges[slot] = edges.horizontalEdge(row, col + 1);
+                block(slot, slot);
+                if (col > 0) {
+                    block(slot, horizontalSlot(row, col - 1));
+                }
+                if (col < width - 2) {
+                    block(slot, horizontalSlot(row, col + 1));
+                }
+                block(slot, verticalSlot(row - 1, col + 1)); //both meet at the dot (row, col + 1)
+            }
+        }
+        for (int row = 0; row < height - 1; row++) {
+            for (int col = 1; col < width; col++) {
+                int slot = verticalSlot(row, col);
+                firstEdges[slot] = edges.verticalEdge(row, col);
+                secondEdges[slot] = edges.verticalEdge(row + 1, col);
+                block(slot, slot);
+                if (row > 0) {
+                    block(slot, verticalSlot(row - 1, col));
+                }
+                if (row < height - 2) {
+                    block(slot, verticalSlot(row + 1, col));
+                }
+                block(slot, horizontalSlot(row + 1, col - 1));
+            }
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotByFirstEdge[firstEdges[slot]] = slot;
+        }
+    }
+
+    private int horizontalSlot(int row, int col) {
+        return (row - 1) * (width - 1) + col;
+    }
+
+    private int verticalSlot(int row, int col) {
+        return horizontalSlots + row * (width - 1) + col - 1;
+    }
+
+    private WallSlots(WallSlots other, EdgeBitboard edges) {
+        this.edges = edges;
+        this.width = other.width;
+        this.height = other.height;
+        this.horizontalSlots = other.horizontalSlots;
+        this.slotCount = other.slotCount;
+        this.firstEdges = other.firstEdges;
+        this.secondEdges = other.secondEdges;
+        this.slotByFirstEdge = other.slotByFirstEdge;
+        this.blockers = other.blockers;
+        this.placed = other.placed.clone();
+    }
+
+    /**
+     * Returns an independent copy of the walls and of the board's edges. The slot tables are shared since they
+     * never change.
+     */
+    public WallSlots copy() {
+        return new WallSlots(this, edges.copy());
+    }
+
+    private void block(int slot, int other) {
+        blockers[slot][other >>> 6] |= 1L << other;
+    }
+
+    public EdgeBitboard getEdges() {
+        return edges;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public boolean isHorizontal(int slot) {
+        return slot < horizontalSlots;
+    }
+
+    public int firstEdge(int slot) {
+        return firstEdges[slot];
+    }
+
+    public int secondEdge(int slot) {
+        return secondEdges[slot];
+    }
+
+    /**
+     * Returns the slot covering both edges (in either order), or -1 if no wall covers that pair.
+     */
+    public int slot(int edgeA, int edgeB) {
+        int first = Math.min(edgeA, edgeB);
+        int slot = slotByFirstEdge[first];
+        return slot != -1 && secondEdges[slot] == Math.max(edgeA, edgeB) ? slot : -1;
+    }
+
+    /**
+     * Returns whether a wall can go into the slot without overlapping or crossing a wall that is already up.
+     * Whether it cuts a pawn off is up to WallValidator.
+     */
+    public boolean isFree(int slot) {
+        long[] mask = blockers[slot];
+        for (int w = 0; w < mask.length; w++) {
+            if ((mask[w] & placed[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isPlaced(int slot) {
+        return (placed[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Writes every free slot into out and returns how many there are.
+     */
+    public int freeSlots(int[] out) {
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (isFree(slot)) {
+                out[count++] = slot;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Puts a wall into a free slot and draws its edges.
+     */
+    public void place(int slot) {
+        placed[slot >>> 6] |= 1L << slot;
+        edges.draw(firstEdges[slot]);
+        edges.draw(secondEdges[slot]);
+    }
+
+    /**
+     * Takes a placed wall down and clears its edges.
+     */
+    public void remove(int slot) {
+        placed[slot >>> 6] &= ~(1L << slot);
+        edges.clear(secondEdges[slot]);
+        edges.clear(firstEdges[slot]);
+    }
+}
@@ -0,0 +1,315 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Decides which Quoridor walls may be placed without cutting a team off from its goal side. Walls are the
+ * slots of a WallSlots, which already rules out walls that overlap or cross one that is up.
+ *
+ * The validator keeps one witness path per team, a route from the team's pawn to its goal side, and remembers
+ * which teams' witnesses run through each edge. A wall that touches no witness path cannot cut anybody off,
+ * since every team still has its witness, so most candidates are accepted with two lookups. Only walls that
+ * cross a witness are checked with a search, and only for the teams whose witness they cross. Witnesses stay
+ * valid when walls are removed, so a search that places and takes back walls only needs wallPlaced, wallRemoved
+ * and pawnMoved to refresh the witnesses those moves touched.
+ *
+ * Usage: java WallValidator [width height walls seed] compares enumerating every legal wall on a random
+ * position against one search per candidate.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class WallValidator {
+
+    private final WallSlots slots;
+    private final EdgeBitboard edges;
+    private final int width;
+    private final int height;
+    private final int size;
+    private final int numTeams;
+    private final int[] witnessTeams;  //per edge, a bit for every team whose witness path crosses it
+    private final int[][] witnessPaths; //per team, the edges of its witness path
+    private final int[] witnessLengths;
+    private final int[] pawns;
+    private int cutOffTeams;           //teams with no way to their goal side, so no witness
+
+    //scratch for the searches; a tile has been seen in the current search when its stamp matches
+    private final int[] queue;
+    private final int[] parentEdge;
+    private final int[] stamps;
+    private int stamp;
+    private long searches;
+
+    public WallValidator(WallSlots slots, int numTeams) {
+        this.slots = slots;
+        this.edges = slots.getEdges();
+        this.width = edges.getWidth();
+        this.height = edges.getHeight();
+        this.size = width * height;
+        this.numTeams = numTeams;
+        this.witnessTeams = new int[edges.getEdgeCount()];
+        this.witnessPaths = new int[numTeams][size];
+        this.witnessLengths = new int[numTeams];
+        this.pawns = new int[numTeams];
+        this.queue = new int[size];
+        this.parentEdge = new int[size];
+        this.stamps = new int[size];
+    }
+
+    /**
+     * Returns how many searches the validator has run, to see how often the witness paths settle a wall.
+     */
+    public long getSearchCount() {
+        return searches;
+    }
+
+    /**
+     * Sets every pawn (row-major tiles, 0-based) and finds fresh witness paths for all teams.
+     */
+    public void setPawns(int[] pawnTiles) {
+        Arrays.fill(witnessTeams, 0);
+        cutOffTeams = 0;
+        for (int team = 0; team < numTeams; team++) {
+            pawns[team] = pawnTiles[team];
+            witnessLengths[team] = 0;
+            if (!search(team, true)) {
+                cutOffTeams |= 1 << team;
+            }
+        }
+    }
+
+    public void pawnMoved(int team, int tile) {
+        pawns[team] = tile;
+        findWitness(team);
+    }
+
+    /**
+     * Finds new witnesses for the teams whose witness the wall in the slot (now placed) crosses.
+     */
+    public void wallPlaced(int slot) {
+        int crossed = crossedTeams(slot);
+        for (int team = 0; team < numTeams; team++) {
+            if ((crossed & (1 << team)) != 0) {
+                findWitness(team);
+            }
+        }
+    }
+
+    /**
+     * Call after a wall has been taken back. Every witness still holds; only teams that were cut off can gain
+     * one.
+     */
+    public void wallRemoved(int slot) {
+        for (int team = 0; team < numTeams && cutOffTeams != 0; team++) {
+            if ((cutOffTeams & (1 << team)) != 0) {
+                findWitness(team);
+            }
+        }
+    }
+
+    /**
+     * Returns a bit for every team whose witness path the wall in the slot would cut.
+     */
+    public int crossedTeams(int slot) {
+        return witnessTeams[slots.firstEdge(slot)] | witnessTeams[slots.secondEdge(slot)];
+    }
+
+    /**
+     * Returns whether a wall can go into the slot: the slot is free and every team can still reach its goal
+     * side afterwards.
+     */
+    public boolean isLegal(int slot) {
+        return slots.isFree(slot) && keepsPaths(slots.firstEdge(slot), slots.secondEdge(slot));
+    }
+
+    /**
+     * Returns whether drawing both (free) edges leaves every team a way to its goal side.
+     */
+    public boolean keepsPaths(int first, int second) {
+        if (cutOffTeams != 0) {
+            return false;
+        }
+        int crossed = witnessTeams[first] | witnessTeams[second];
+        if (crossed == 0) {
+            return true;
+        }
+        edges.draw(first);
+        edges.draw(second);
+        boolean legal = true;
+        for (int team = 0; team < numTeams && legal; team++) {
+            if ((crossed & (1 << team)) != 0) {
+                legal = search(team, false);
+            }
+        }
+        edges.clear(second);
+        edges.clear(first);
+        return legal;
+    }
+
+    /**
+     * Writes the slot of every legal wall into walls and returns how many there are.
+     */
+    public int legalWalls(int[] walls) {
+        int count = 0;
+        for (int slot = 0; slot < slots.getSlotCount(); slot++) {
+            if (isLegal(slot)) {
+                walls[count++] = slot;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replaces a team's witness with a shortest path from its pawn to its goal side.
+     */
+    private void findWitness(int team) {
+        int bit = 1 << team;
+        for (int i = 0; i < witnessLengths[team]; i++) {
+            witnessTeams[witnessPaths[team][i]] &= ~bit;
+        }
+        witnessLengths[team] = 0;
+        if (search(team, true)) {
+            cutOffTeams &= ~bit;
+        }
+        else {
+            cutOffTeams |= bit;
+        }
+    }
+
+    /**
+     * Returns whether at least one wall can be placed.
+     */
+    public boolean hasLegalWall() {
+        for (int slot = 0; slot < slots.getSlotCount(); slot++) {
+            if (isLegal(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Breadth first search from the team's pawn to its goal side. When recording, the path found becomes the
+     * team's witness.
+     */
+    private boolean search(int team, boolean record) {
+        searches++;
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        int start = pawns[team];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        stamps[start] = stamp;
+        while (head < tail) {
+            int tile = queue[head++];
+            if (QuoridorDistanceField.isGoal(team, tile, width, height)) {
+                if (record) {
+                    recordWitness(team, start, tile);
+                }
+                return true;
+            }
+            int row = tile / width;
+            int col = tile % width;
+            for (int side = 0; side < 4; side++) {
+                int edge = edges.boxEdge(row, col, side);
+                if (edges.isDrawn(edge)) {
+                    continue;
+                }
+                int next = edges.edgeBox(edge, 0) == tile ? edges.edgeBox(edge, 1) : edges.edgeBox(edge, 0);
+                if (next != -1 && stamps[next] != stamp) {
+                    stamps[next] = stamp;
+                    parentEdge[next] = edge;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void recordWitness(int team, int start, int goal) {
+        int bit = 1 << team;
+        int length = 0;
+        for (int tile = goal; tile != start; ) {
+            int edge = parentEdge[tile];
+            witnessPaths[team][length++] = edge;
+            witnessTeams[edge] |= bit;
+            tile = edges.edgeBox(edge, 0) == tile ? edges.edgeBox(edge, 1) : edges.edgeBox(edge, 0);
+        }
+        witnessLengths[team] = length;
+    }
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        int wallCount = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        int teams = 4;
+        int rounds = 500;
+
+        EdgeBitboard edges = new EdgeBitboard(width, height);
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] pawns = new int[teams];
+        for (int team = 0; team < teams; team++) {
+            pawns[team] = random.nextInt(width * height);
+        }
+        WallSlots slots = new WallSlots(edges);
+        WallValidator validator = new WallValidator(slots, teams);
+        validator.setPawns(pawns);
+        for (int placed = 0; placed < wallCount; ) {
+            int slot = random.nextInt(slots.getSlotCount());
+            if (validator.isLegal(slot)) {
+                slots.place(slot);
+                validator.wallPlaced(slot);
+                placed++;
+            }
+        }
+
+        int[] walls = new int[slots.getSlotCount()];
+        int legal = 0;
+        for (int i = 0; i < rounds; i++) { //warm up
+            legal = validator.legalWalls(walls);
+        }
+        long begin = System.nanoTime();
+        long searchesBefore = validator.getSearchCount();
+        for (int i = 0; i < rounds; i++) {
+            legal = validator.legalWalls(walls);
+        }
+        long witnessNanos = (System.nanoTime() - begin) / rounds;
+        long searches = (validator.getSearchCount() - searchesBefore) / rounds;
+
+        //one search per team per candidate, warmed up the same way
+        int naive = 0;
+        for (int i = 0; i < 2 * rounds; i++) {
+            if (i == rounds) {
+                begin = System.nanoTime();
+            }
+            naive = 0;
+            for (int slot = 0; slot < slots.getSlotCount(); slot++) {
+                if (!slots.isFree(slot)) {
+                    continue;
+                }
+                int first = slots.firstEdge(slot);
+                int second = slots.secondEdge(slot);
+                edges.draw(first);
+                edges.draw(second);
+                boolean ok = true;
+                for (int team = 0; team < teams && ok; team++) {
+                    ok = validator.search(team, false);
+                }
+                edges.clear(second);
+                edges.clear(first);
+                if (ok) {
+                    naive++;
+                }
+            }
+        }
+        long naiveNanos = (System.nanoTime() - begin) / rounds;
+        System.out.println(String.format("%dx%d, %d walls, %d teams: %d legal walls (%d by full search)", width, height,
+                wallCount, teams, legal, naive));
+        System.out.println(String.format("witness paths: %d us, %d searches; full search: %d us (%.1fx)",
+                witnessNanos / 1000, searches, naiveNanos / 1000, naiveNanos / (double) witnessNanos));
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing. A position's key is the XOR of the keys of its features (a drawn
+ * edge, a tile on a cell, a pawn on a tile, a team's walls left, the team to move), so making or undoing a
+ * move updates it in O(1) by XORing the keys of the features that changed. Keys come from a fixed seed per
+ * kind of feature, so the same position has the same key in every run and in every copy of a board.
+ *
+ * @author Abdelazim Lokma
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Zobrist {
+
+    public static final int EDGES = 1;
+    public static final int TILES = 2;
+    public static final int PAWNS = 3;
+    public static final int WALLS_LEFT = 4;
+    public static final int TURN = 5;
+    public static final int COMPONENTS = 6;
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns count keys for one kind of feature; the keys for a kind never change, and the first keys of a
+     * longer table equal those of a shorter one.
+     */
+    public static long[] keys(int kind, int count) {
+        SplittableRandom random = new SplittableRandom(SEED + kind * 0x9E3779B97F4A7C15L);
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+}